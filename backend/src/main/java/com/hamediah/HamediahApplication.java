@@ -2,10 +2,14 @@ package com.hamediah;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class HamediahApplication {
     public static void main(String[] args) {
-        SpringApplication.run(HamediahApplication.class, args);
+        SpringApplication app = new SpringApplication(HamediahApplication.class);
+        // Startphasen mitschreiben: /actuator/startup (Rohdaten) und /actuator/startupreport (Zusammenfassung)
+        app.setApplicationStartup(new BufferingApplicationStartup(8192));
+        app.run(args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.hamediah.analytics;
+
+/**
+ * HyperLogLog mit 2^{@value #P} Registern (1 KiB, Standardfehler etwa 3 %) für die Zahl
+ * unterschiedlicher Besucher. Erwartet bereits gut verteilte 64-Bit-Hashes.
+ */
+final class HyperLogLog {
+
+    static final int P = 10;
+    static final int M = 1 << P;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / M);
+
+    private final byte[] registers;
+
+    HyperLogLog() {
+        this(new byte[M]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != M) return new HyperLogLog();
+        return new HyperLogLog(bytes.clone());
+    }
+
+    byte[] toBytes() {
+        return registers.clone();
+    }
+
+    void add(long hash) {
+        int index = (int) (hash >>> (64 - P));
+        // Sentinel-Bit begrenzt den Rang auf 64 - P + 1
+        int rank = Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1;
+        if (rank > registers[index]) registers[index] = (byte) rank;
+    }
+
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < M; i++) {
+            if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+        }
+    }
+
+    long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double estimate = ALPHA * M * M / sum;
+        // Kleine Mengen: Linear Counting ist dort genauer
+        if (estimate <= 2.5 * M && zeros > 0) estimate = M * Math.log((double) M / zeros);
+        return Math.round(estimate);
+    }
+}
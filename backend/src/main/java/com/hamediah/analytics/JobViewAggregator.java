@@ -0,0 +1,314 @@
+package com.hamediah.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liest den {@link ViewBuffer} im Hintergrund aus und führt pro Job und Stunde Aufrufe und
+ * einen {@link HyperLogLog} der Besucher. Geschrieben wird gebündelt nach
+ * {@code job_view_stats} (siehe V9): Aufrufe additiv, Besucher als Schätzung plus Sketch.
+ * <p>
+ * Speicher ist begrenzt: pro Job ein Ring über {@code window-hours} Stunden mit drei Zahlen,
+ * Sketches (1 KiB) nur für die laufende und die vorige Stunde. Daraus entsteht alle
+ * {@code trending-refresh-ms} die Trending-Liste: Besucher pro Stunde, exponentiell mit
+ * {@code half-life} abgewertet. Wie ApplicationCounters pro Instanz exakt.
+ * <p>
+ * Der Puffer wird auf einem eigenen Thread geleert, damit langsame Scheduler-Aufgaben ihn nicht
+ * volllaufen lassen; Aufrufe, die vor {@link #load()} ankommen, werden mit dem geladenen Stand
+ * zusammengeführt.
+ */
+@Component
+public class JobViewAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(JobViewAggregator.class);
+
+    private static final long HOUR = 3_600_000L;
+    public static final int MAX_TRENDING = 100;
+    // Zeilen pro Upsert-Statement
+    private static final int FLUSH_CHUNK = 500;
+
+    private final JobViewTracker tracker;
+    private final JdbcTemplate jdbc;
+    private final int windowHours;
+    private final double halfLifeHours;
+    private final Counter aggregated;
+    private final ScheduledExecutorService drainer;
+
+    // Nur unter dem Monitor dieses Objekts
+    private final Map<Long, JobViews> jobs = new HashMap<>();
+    private final ViewBuffer.Sink sink = this::add;
+    private volatile List<Trend> trending = List.of();
+    private volatile boolean ready;
+
+    public JobViewAggregator(JobViewTracker tracker, JdbcTemplate jdbc, MeterRegistry registry,
+                             @Value("${hamediah.analytics.window-hours:48}") int windowHours,
+                             @Value("${hamediah.analytics.half-life:6h}") Duration halfLife,
+                             @Value("${hamediah.analytics.drain-interval-ms:200}") long drainIntervalMs) {
+        this.tracker = tracker;
+        this.jdbc = jdbc;
+        this.windowHours = windowHours;
+        this.halfLifeHours = halfLife.toMillis() / (double) HOUR;
+        this.aggregated = Counter.builder("hamediah.views")
+                .description("Ausgewertete Aufrufe von Job-Detailseiten")
+                .register(registry);
+        Gauge.builder("hamediah.views.jobs", this, a -> a.trackedJobs()).register(registry);
+        this.drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "job-view-drain");
+            t.setDaemon(true);
+            return t;
+        });
+        drainer.scheduleWithFixedDelay(this::drainSafely, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stand der letzten {@code window-hours} wiederherstellen, Sketches der offenen Stunden inklusive.
+     * Schon ausgewertete Aufrufe bleiben erhalten: Zahlen werden addiert, Sketches vereinigt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long currentHour = Math.floorDiv(System.currentTimeMillis(), HOUR);
+        Timestamp open = new Timestamp((currentHour - 1) * HOUR);
+        Timestamp from = new Timestamp((currentHour - windowHours + 1) * HOUR);
+        jdbc.query("SELECT job_id, hour, views, unique_visitors,"
+                        + " CASE WHEN hour >= ? THEN visitors_sketch END"
+                        + " FROM job_view_stats WHERE hour >= ?",
+                rs -> {
+                    long hour = Math.floorDiv(rs.getTimestamp(2).getTime(), HOUR);
+                    JobViews v = jobs.computeIfAbsent(rs.getLong(1), id -> new JobViews(windowHours));
+                    int s = v.slot(hour);
+                    if (s < 0) return;
+                    long views = rs.getLong(3);
+                    v.views[s] += views;
+                    v.flushed[s] += views;
+                    v.uniques[s] = Math.max(v.uniques[s], rs.getLong(4));
+                    byte[] bytes = rs.getBytes(5);
+                    if (bytes != null) {
+                        HyperLogLog sketch = HyperLogLog.fromBytes(bytes);
+                        if (v.sketches[s] != null) sketch.merge(v.sketches[s]);
+                        v.sketches[s] = sketch;
+                    }
+                }, open, from);
+        ready = true;
+        refreshTrending();
+        log.info("Job view stats loaded for {} jobs", jobs.size());
+    }
+
+    public synchronized void drain() {
+        aggregated.increment(tracker.buffer().drain(sink));
+    }
+
+    // Eine Exception würde die periodische Ausführung beenden
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("Draining job views failed: {}", e.getMessage());
+        }
+    }
+
+    private void add(long jobId, long visitor, long epochMillis) {
+        JobViews v = jobs.get(jobId);
+        if (v == null) {
+            v = new JobViews(windowHours);
+            jobs.put(jobId, v);
+        }
+        int s = v.slot(Math.floorDiv(epochMillis, HOUR));
+        if (s < 0) return;
+        v.views[s]++;
+        if (v.sketches[s] == null) v.sketches[s] = new HyperLogLog();
+        v.sketches[s].add(visitor);
+    }
+
+    /**
+     * Schreibt alle Stunden mit neuen Aufrufen. Sketches abgeschlossener Stunden werden danach
+     * verworfen, nur die Schätzung bleibt für die Trending-Berechnung.
+     */
+    @Scheduled(fixedDelayString = "${hamediah.analytics.flush-interval-ms:60000}")
+    public void flush() {
+        if (!ready) return;
+        List<Row> rows = new ArrayList<>();
+        synchronized (this) {
+            drain();
+            long currentHour = Math.floorDiv(System.currentTimeMillis(), HOUR);
+            jobs.forEach((jobId, v) -> {
+                for (int s = 0; s < v.hour.length; s++) {
+                    if (v.sketches[s] == null) continue;
+                    long delta = v.views[s] - v.flushed[s];
+                    if (delta > 0) {
+                        v.uniques[s] = v.sketches[s].estimate();
+                        rows.add(new Row(jobId, v.hour[s], delta, v.uniques[s], v.sketches[s].toBytes()));
+                        v.flushed[s] = v.views[s];
+                    } else if (v.hour[s] < currentHour - 1) {
+                        v.sketches[s] = null;
+                    }
+                }
+            });
+        }
+        for (int from = 0; from < rows.size(); from += FLUSH_CHUNK) {
+            List<Row> chunk = rows.subList(from, Math.min(from + FLUSH_CHUNK, rows.size()));
+            try {
+                upsert(chunk);
+            } catch (RuntimeException e) {
+                log.warn("Flushing {} job view rows failed, retrying on next run: {}", chunk.size(), e.getMessage());
+                unflush(chunk);
+            }
+        }
+    }
+
+    private void upsert(List<Row> rows) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO job_view_stats (job_id, hour, views, unique_visitors, visitors_sketch)"
+                        + " SELECT v.job_id, v.hour, v.views, v.unique_visitors, v.visitors_sketch FROM (VALUES ");
+        List<Object> args = new ArrayList<>(rows.size() * 5);
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            if (i > 0) sql.append(',');
+            sql.append("(?::bigint, ?::timestamptz, ?::bigint, ?::bigint, ?::bytea)");
+            args.add(row.jobId());
+            args.add(new Timestamp(row.hour() * HOUR));
+            args.add(row.views());
+            args.add(row.uniqueVisitors());
+            args.add(row.sketch());
+        }
+        // JOIN: inzwischen gelöschte Jobs fallen heraus statt den Foreign Key zu verletzen
+        sql.append(") AS v(job_id, hour, views, unique_visitors, visitors_sketch) JOIN job j ON j.id = v.job_id"
+                + " ON CONFLICT (job_id, hour) DO UPDATE SET views = job_view_stats.views + EXCLUDED.views,"
+                + " unique_visitors = GREATEST(job_view_stats.unique_visitors, EXCLUDED.unique_visitors),"
+                + " visitors_sketch = EXCLUDED.visitors_sketch");
+        jdbc.update(sql.toString(), args.toArray());
+    }
+
+    // Nicht geschriebene Aufrufe wieder als ausstehend markieren
+    private synchronized void unflush(List<Row> rows) {
+        for (Row row : rows) {
+            JobViews v = jobs.get(row.jobId());
+            if (v == null) continue;
+            int s = v.indexOf(row.hour());
+            if (s >= 0) v.flushed[s] -= row.views();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        drainer.shutdown();
+        flush();
+    }
+
+    /**
+     * Berechnet die Trending-Liste neu und entfernt Jobs ohne Aufrufe im Fenster.
+     */
+    @Scheduled(fixedDelayString = "${hamediah.analytics.trending-refresh-ms:30000}")
+    public synchronized void refreshTrending() {
+        drain();
+        long now = System.currentTimeMillis();
+        long oldest = Math.floorDiv(now, HOUR) - windowHours + 1;
+        double nowHours = now / (double) HOUR;
+        PriorityQueue<Trend> heap = new PriorityQueue<>(MAX_TRENDING + 1, Comparator.comparingDouble(Trend::score));
+        for (Iterator<Map.Entry<Long, JobViews>> it = jobs.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, JobViews> entry = it.next();
+            JobViews v = entry.getValue();
+            double score = 0;
+            boolean any = false;
+            for (int s = 0; s < v.hour.length; s++) {
+                if (v.hour[s] < oldest) continue;
+                any = true;
+                if (v.sketches[s] != null) v.uniques[s] = v.sketches[s].estimate();
+                // Stundenmitte als Zeitpunkt; die laufende Stunde zählt voll
+                double age = Math.max(0, nowHours - (v.hour[s] + 0.5));
+                score += v.uniques[s] * Math.pow(0.5, age / halfLifeHours);
+            }
+            if (!any) {
+                it.remove();
+                continue;
+            }
+            if (score <= 0) continue;
+            if (heap.size() < MAX_TRENDING) {
+                heap.add(new Trend(entry.getKey(), score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Trend(entry.getKey(), score));
+            }
+        }
+        List<Trend> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(Trend::score).reversed());
+        trending = List.copyOf(result);
+    }
+
+    /** Die Jobs mit dem höchsten abgewerteten Besucherinteresse, Stand des letzten Refresh. */
+    public List<Trend> trending(int limit) {
+        List<Trend> current = trending;
+        return current.size() > limit ? current.subList(0, Math.max(0, limit)) : current;
+    }
+
+    synchronized int trackedJobs() {
+        return jobs.size();
+    }
+
+    public record Trend(Long jobId, double score) {
+    }
+
+    private record Row(Long jobId, long hour, long views, long uniqueVisitors, byte[] sketch) {
+    }
+
+    /**
+     * Stundenwerte eines Jobs als Ring über das Fenster; Slot = Stunde modulo Fenster.
+     */
+    private static final class JobViews {
+        final long[] hour;
+        final long[] views;
+        final long[] flushed;
+        final long[] uniques;
+        final HyperLogLog[] sketches;
+
+        JobViews(int window) {
+            hour = new long[window];
+            Arrays.fill(hour, Long.MIN_VALUE);
+            views = new long[window];
+            flushed = new long[window];
+            uniques = new long[window];
+            sketches = new HyperLogLog[window];
+        }
+
+        int indexOf(long epochHour) {
+            int s = (int) Math.floorMod(epochHour, (long) hour.length);
+            return hour[s] == epochHour ? s : -1;
+        }
+
+        /** Slot für die Stunde, ältere Werte darin werden verdrängt; -1 für zu alte Stunden. */
+        int slot(long epochHour) {
+            int s = (int) Math.floorMod(epochHour, (long) hour.length);
+            if (hour[s] == epochHour) return s;
+            if (hour[s] > epochHour) return -1;
+            hour[s] = epochHour;
+            views[s] = 0;
+            flushed[s] = 0;
+            uniques[s] = 0;
+            sketches[s] = null;
+            return s;
+        }
+    }
+}
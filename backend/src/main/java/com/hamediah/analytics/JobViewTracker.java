@@ -0,0 +1,104 @@
+package com.hamediah.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Erfasst Aufrufe der Job-Detailseiten. Auf dem Request-Thread passiert nur ein Hash über
+ * Client-Adresse und User-Agent und ein Eintrag in den {@link ViewBuffer}; Zählen, Sketches
+ * und Datenbank übernimmt {@link JobViewAggregator}. Der Hash wird mit einem täglich wechselnden
+ * Salt gebildet (HMAC des Tages mit {@code hamediah.analytics.visitor-secret}), Adressen landen
+ * also weder im Speicher noch in der Datenbank. Ohne Secret wird es pro Prozess gewürfelt; nach
+ * einem Neustart zählen Besucher der laufenden Stunde dann ein zweites Mal.
+ */
+@Component
+public class JobViewTracker {
+
+    private final ViewBuffer buffer;
+    private final Counter dropped;
+    private final byte[] secret;
+    private volatile Salt salt;
+
+    public JobViewTracker(MeterRegistry registry,
+                          @Value("${hamediah.analytics.buffer-capacity:65536}") int capacity,
+                          @Value("${hamediah.analytics.visitor-secret:}") String secret) {
+        this.buffer = new ViewBuffer(capacity);
+        if (secret.isBlank()) {
+            this.secret = new byte[32];
+            new SecureRandom().nextBytes(this.secret);
+        } else {
+            this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.dropped = Counter.builder("hamediah.views.dropped")
+                .description("Aufrufe, die wegen vollem Puffer nicht gezählt wurden")
+                .register(registry);
+        Gauge.builder("hamediah.views.buffer.size", buffer, ViewBuffer::size).register(registry);
+    }
+
+    public void viewed(Long jobId, HttpServletRequest request) {
+        long now = System.currentTimeMillis();
+        long hash = salt(now).seed;
+        hash = mix(hash, request.getRemoteAddr());
+        hash = mix(hash, request.getHeader(HttpHeaders.USER_AGENT));
+        if (!buffer.offer(jobId, fmix64(hash), now)) dropped.increment();
+    }
+
+    ViewBuffer buffer() {
+        return buffer;
+    }
+
+    private Salt salt(long now) {
+        long day = Math.floorDiv(now, 86_400_000L);
+        Salt current = salt;
+        if (current == null || current.day != day) {
+            current = new Salt(day, daySeed(day));
+            salt = current;
+        }
+        return current;
+    }
+
+    private long daySeed(long day) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return ByteBuffer.wrap(mac.doFinal(ByteBuffer.allocate(Long.BYTES).putLong(day).array())).getLong();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    // FNV-1a über die Zeichen; Verteilung übernimmt fmix64
+    private static long mix(long hash, String value) {
+        if (value == null) return hash * 0x100000001b3L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return (hash ^ '|') * 0x100000001b3L;
+    }
+
+    // Finalizer aus MurmurHash3
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Salt(long day, long seed) {
+    }
+}
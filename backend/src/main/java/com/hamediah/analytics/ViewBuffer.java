@@ -0,0 +1,74 @@
+package com.hamediah.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Begrenzter Ringpuffer für Aufrufe: viele Request-Threads schreiben, ein Aggregator liest.
+ * Schreiber reservieren einen Platz per CAS und geben ihn über eine Sequenznummer pro Slot frei,
+ * ohne Locks und ohne Objekte pro Eintrag (drei parallele {@code long[]}). Ist der Puffer voll,
+ * wird der Aufruf verworfen statt den Request zu bremsen.
+ */
+final class ViewBuffer {
+
+    /** Empfänger für {@link #drain}, primitiv, damit beim Auslesen nichts geboxt wird. */
+    interface Sink {
+        void accept(long jobId, long visitor, long epochMillis);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final long[] jobIds;
+    private final long[] visitors;
+    private final long[] times;
+    // Slot i ist lesbar, wenn published[i] == Sequenz + 1
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    ViewBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.jobIds = new long[capacity];
+        this.visitors = new long[capacity];
+        this.times = new long[capacity];
+        this.published = new AtomicLongArray(capacity);
+    }
+
+    boolean offer(long jobId, long visitor, long epochMillis) {
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail >= capacity) return false;
+        } while (!head.compareAndSet(seq, seq + 1));
+        int i = (int) seq & mask;
+        jobIds[i] = jobId;
+        visitors[i] = visitor;
+        times[i] = epochMillis;
+        published.lazySet(i, seq + 1);
+        return true;
+    }
+
+    /** Nur vom Aggregator-Thread aufzurufen. Liest bis zum ersten noch nicht freigegebenen Slot. */
+    int drain(Sink sink) {
+        long t = tail;
+        int n = 0;
+        for (;;) {
+            int i = (int) t & mask;
+            if (published.get(i) != t + 1) break;
+            sink.accept(jobIds[i], visitors[i], times[i]);
+            t++;
+            n++;
+        }
+        tail = t;
+        return n;
+    }
+
+    int size() {
+        return (int) Math.max(0, head.get() - tail);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
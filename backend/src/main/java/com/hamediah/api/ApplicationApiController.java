@@ -1,25 +1,59 @@
 package com.hamediah.api;
 
 import com.hamediah.domain.Application;
+import com.hamediah.intake.ApplicationIntake;
+import com.hamediah.intake.IntakeFullException;
+import com.hamediah.intake.IntakeTicket;
+import com.hamediah.paging.CursorPage;
+import com.hamediah.resume.FileDownload;
+import com.hamediah.resume.ResumeStorage;
+import com.hamediah.resume.ResumeTooLargeException;
+import com.hamediah.resume.StoredResume;
+import com.hamediah.resume.UploadTimeoutException;
+import com.hamediah.resume.UploadsBusyException;
+import com.hamediah.service.ApplicationExportService;
 import com.hamediah.service.ApplicationService;
+import com.hamediah.service.DuplicateApplicationException;
+import com.hamediah.web.PageCacheFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/applications")
 public class ApplicationApiController {
 
+    // Boundaries und Kopfzeilen neben der eigentlichen Datei
+    private static final long MULTIPART_OVERHEAD = 16 * 1024;
+
     private final ApplicationService service;
+    private final ApplicationExportService exportService;
+    private final ApplicationIntake intake;
+    private final ResumeStorage resumes;
 
-    public ApplicationApiController(ApplicationService service) {
+    public ApplicationApiController(ApplicationService service, ApplicationExportService exportService,
+                                    ApplicationIntake intake, ResumeStorage resumes) {
         this.service = service;
+        this.exportService = exportService;
+        this.intake = intake;
+        this.resumes = resumes;
     }
 
     @PostMapping
-    public ResponseEntity<Application> submitApplication(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> submitApplication(@RequestBody Map<String, Object> request) {
         try {
             Long jobId = Long.valueOf(request.get("jobId").toString());
             String applicantName = (String) request.get("applicantName");
@@ -27,16 +61,142 @@ public class ApplicationApiController {
             String coverLetter = (String) request.get("coverLetter");
             String resumeUrl = (String) request.get("resumeUrl");
 
+            // Write-Behind-Modus: sofort 202 mit Ticket, gespeichert wird im Hintergrund
+            if (intake.isEnabled()) {
+                IntakeTicket ticket = intake.submit(jobId, applicantName, applicantEmail, coverLetter, resumeUrl);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/applications/intake/" + ticket.id()))
+                        .body(ticket);
+            }
+
             Application application = service.submitApplication(jobId, applicantName, applicantEmail, coverLetter, resumeUrl);
             return ResponseEntity.ok(application);
+        } catch (IntakeFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "intake_full"));
+        } catch (DuplicateApplicationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "already_applied", "hasApplied", true));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Lebenslauf-Upload als {@code multipart/form-data}; gespeichert wird der erste Dateiteil.
+     * Der Body geht direkt vom Socket auf die Platte (siehe ResumeStorage), die Antwort enthält
+     * die URL für {@code resumeUrl} der Bewerbung.
+     */
+    @PostMapping(value = "/resumes", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadResume(HttpServletRequest request) throws IOException {
+        // Zu große Uploads mit Content-Length abweisen, bevor ein Byte gelesen wird
+        if (request.getContentLengthLong() > resumes.maxBytes() + MULTIPART_OVERHEAD) {
+            return tooLarge();
+        }
+        try {
+            StoredResume stored = resumes.store(request.getInputStream(), request.getContentType());
+            return ResponseEntity.created(URI.create(stored.url())).body(stored);
+        } catch (UploadsBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "uploads_busy"));
+        } catch (ResumeTooLargeException e) {
+            return tooLarge();
+        } catch (UploadTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT)
+                    .header(HttpHeaders.CONNECTION, "close")
+                    .body(Map.of("error", "upload_timeout"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_upload", "message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Download mit ETag und Range-Unterstützung; der Name ist der Content-Hash aus dem Upload.
+     */
+    @GetMapping("/resumes/{name}")
+    public void downloadResume(@PathVariable String name, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        var resume = resumes.find(name);
+        if (resume.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        StoredResume stored = resume.get();
+        FileDownload.send(resumes.file(stored), stored.size(), stored.contentType(),
+                "\"" + stored.sha256() + "\"",
+                "resume-" + stored.sha256().substring(0, 12) + stored.name().substring(64),
+                request, response);
+    }
+
+    private ResponseEntity<Map<String, Object>> tooLarge() {
+        // Connection: close, damit Tomcat den Rest des Bodys nicht erst einliest
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(Map.of("error", "too_large", "maxBytes", resumes.maxBytes()));
+    }
+
+    @GetMapping("/intake")
+    public Map<String, Object> intakeStatus() {
+        return Map.of("enabled", intake.isEnabled(), "pending", intake.pending(), "capacity", intake.capacity());
+    }
+
+    @GetMapping("/intake/{ticketId}")
+    public ResponseEntity<IntakeTicket> intakeTicket(@PathVariable String ticketId) {
+        return intake.status(ticketId).map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/job/{jobId}")
-    public List<Application> getApplicationsForJob(@PathVariable Long jobId) {
-        return service.getApplicationsForJob(jobId);
+    public ResponseEntity<CursorPage<Application>> getApplicationsForJob(
+            @PathVariable Long jobId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(service.getApplicationsForJob(jobId, cursor, CursorPage.clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streamt alle Bewerbungen eines Jobs als CSV oder NDJSON, bei Accept-Encoding: gzip komprimiert.
+     */
+    @GetMapping("/job/{jobId}/export")
+    public ResponseEntity<StreamingResponseBody> exportApplicationsForJob(
+            @PathVariable Long jobId,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ApplicationExportService.Format exportFormat;
+        try {
+            exportFormat = ApplicationExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean gzip = PageCacheFilter.accepts(acceptEncoding, "gzip");
+        String extension = exportFormat == ApplicationExportService.Format.CSV ? "csv" : "ndjson";
+        MediaType contentType = exportFormat == ApplicationExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream zipped = new GZIPOutputStream(out, 8192)) {
+                    exportService.export(jobId, exportFormat, zipped);
+                }
+            } else {
+                exportService.export(jobId, exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("applications-job-" + jobId + "." + extension).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
     }
 
     @GetMapping("/check")
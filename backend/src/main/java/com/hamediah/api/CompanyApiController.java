@@ -1,25 +1,52 @@
 package com.hamediah.api;
 
 import com.hamediah.domain.Company;
+import com.hamediah.dto.CompanyJobs;
+import com.hamediah.paging.Cursor;
+import com.hamediah.paging.CursorPage;
 import com.hamediah.repository.CompanyRepository;
+import com.hamediah.service.CompanyService;
+import com.hamediah.service.JobService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/companies")
 public class CompanyApiController {
 
     private final CompanyRepository repository;
+    private final JobService jobService;
+    private final CompanyService companyService;
 
-    public CompanyApiController(CompanyRepository repository) {
+    public CompanyApiController(CompanyRepository repository, JobService jobService, CompanyService companyService) {
         this.repository = repository;
+        this.jobService = jobService;
+        this.companyService = companyService;
     }
 
     @GetMapping
-    public List<Company> list() {
-        return repository.findAll();
+    public ResponseEntity<CursorPage<Company>> list(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        try {
+            List<Company> rows;
+            if (cursor == null || cursor.isBlank()) {
+                rows = repository.findFirstPage(Limit.of(size + 1));
+            } else {
+                Cursor after = Cursor.decode(cursor);
+                rows = repository.findPageAfter(after.createdAt(), after.id(), Limit.of(size + 1));
+            }
+            return ResponseEntity.ok(CursorPage.of(rows, size, c -> new Cursor(c.getCreatedAt(), c.getId())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
@@ -28,4 +55,53 @@ public class CompanyApiController {
         return company.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Firma samt ihren aktiven Jobs (neueste zuerst, Cursor-Paging) in einer Abfrage.
+     */
+    @GetMapping("/{id}/jobs")
+    public ResponseEntity<CompanyJobs> jobs(
+            @PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return jobService.companyJobs(id, cursor, CursorPage.clampLimit(limit))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Legt eine Firma an. {@code contactEmail} erhält die Benachrichtigungen über neue Bewerbungen
+     * und wird nicht wieder ausgeliefert. Name schon vergeben: 409. Nur für Admins (SecurityConfig).
+     */
+    @PostMapping
+    public ResponseEntity<Company> create(@RequestBody Map<String, Object> request) {
+        try {
+            Company company = companyService.createCompany((String) request.get("name"),
+                    (String) request.get("website"), (String) request.get("contactEmail"));
+            return ResponseEntity.ok(company);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Ändert Website und Kontaktadresse; der Name bleibt. Nur für Admins (SecurityConfig), sonst
+     * könnte jeder die Bewerber-Benachrichtigungen einer Firma auf die eigene Adresse umleiten.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Company> update(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+        try {
+            return companyService.updateCompany(id, (String) request.get("website"), (String) request.get("contactEmail"))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
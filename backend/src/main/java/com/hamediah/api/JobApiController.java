@@ -1,10 +1,39 @@
 package com.hamediah.api;
 
+import com.hamediah.analytics.JobViewAggregator;
+import com.hamediah.analytics.JobViewTracker;
 import com.hamediah.domain.Job;
+import com.hamediah.dto.JobListResponse;
+import com.hamediah.dto.JobStats;
+import com.hamediah.dto.JobSummary;
+import com.hamediah.dto.PopularJob;
+import com.hamediah.dto.Suggestion;
+import com.hamediah.dto.TrendingJob;
+import com.hamediah.geo.BoundingBox;
+import com.hamediah.geo.Gazetteer;
+import com.hamediah.geo.GeoPoint;
+import com.hamediah.importer.JobImportReport;
+import com.hamediah.importer.JobImportService;
+import com.hamediah.paging.CursorPage;
+import com.hamediah.search.GeoFilter;
+import com.hamediah.search.JobFilter;
+import com.hamediah.search.JobSuggestIndex;
 import com.hamediah.service.JobService;
+import com.hamediah.stats.ApplicationCounters;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 
@@ -12,22 +41,135 @@ import java.util.Map;
 @RequestMapping("/api/jobs")
 public class JobApiController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final int DEFAULT_RADIUS_KM = 50;
+
     private final JobService service;
+    private final JobImportService importService;
+    private final JobSuggestIndex suggestIndex;
+    private final JobViewTracker viewTracker;
+    private final Gazetteer gazetteer;
 
-    public JobApiController(JobService service) {
+    public JobApiController(JobService service, JobImportService importService, JobSuggestIndex suggestIndex,
+                            JobViewTracker viewTracker, Gazetteer gazetteer) {
         this.service = service;
+        this.importService = importService;
+        this.suggestIndex = suggestIndex;
+        this.viewTracker = viewTracker;
+        this.gazetteer = gazetteer;
     }
 
+    /**
+     * Jobliste mit Cursor-Paging. Optional gefiltert nach {@code location}, {@code tag} und
+     * {@code company} (mehrfach erlaubt; innerhalb einer Facette ODER, Tags mit {@code tagMode=all} UND).
+     * Mit {@code facets=true} enthält die Antwort die Trefferzahlen je Facettenwert.
+     * <p>
+     * Umkreissuche um {@code lat}/{@code lon} oder einen bekannten Ort {@code near} mit {@code radius}
+     * in km (Standard {@value #DEFAULT_RADIUS_KM}), Rechteck mit {@code bbox=west,south,east,north};
+     * {@code sort=distance} sortiert nach Entfernung statt neueste zuerst. Bei Umkreissuche enthält
+     * die Antwort {@code distances}. Unbekannter Ort oder ungültige Koordinaten ergeben 400.
+     */
     @GetMapping
-    public List<Job> list(@RequestParam(value = "q", required = false) String q) {
-        return service.search(q);
+    public ResponseEntity<JobListResponse> list(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "location", required = false) List<String> locations,
+            @RequestParam(value = "tag", required = false) List<String> tags,
+            @RequestParam(value = "company", required = false) List<String> companies,
+            @RequestParam(value = "tagMode", defaultValue = "any") String tagMode,
+            @RequestParam(value = "facets", defaultValue = "false") boolean facets,
+            @RequestParam(value = "lat", required = false) Double lat,
+            @RequestParam(value = "lon", required = false) Double lon,
+            @RequestParam(value = "near", required = false) String near,
+            @RequestParam(value = "radius", defaultValue = "" + DEFAULT_RADIUS_KM) double radius,
+            @RequestParam(value = "bbox", required = false) String bbox,
+            @RequestParam(value = "sort", required = false) String sort) {
+        try {
+            JobFilter filter = JobFilter.of(locations, tags, companies, "all".equalsIgnoreCase(tagMode))
+                    .withGeo(geoFilter(lat, lon, near, radius, bbox));
+            GeoPoint center = filter.geo().center();
+            CursorPage<JobSummary> page = "distance".equalsIgnoreCase(sort)
+                    ? service.nearest(q, filter, cursor, CursorPage.clampLimit(limit))
+                    : service.page(q, filter, cursor, CursorPage.clampLimit(limit));
+            return ResponseEntity.ok(new JobListResponse(page.items(), page.next(),
+                    facets ? service.facets(q, filter) : null,
+                    center != null ? service.distances(page.items(), center) : null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // Indizes werden nach dem Start noch aufgebaut
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    /**
+     * Typeahead-Vorschläge aus dem In-Memory-Präfixindex, ohne Datenbankzugriff.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        List<Suggestion> suggestions = suggestIndex.suggest(prefix, Math.max(1, limit));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                .body(suggestions);
+    }
+
+    /**
+     * Jobs mit den meisten Bewerbungen (höchstens {@value ApplicationCounters#MAX_TOP}).
+     */
+    @GetMapping("/popular")
+    public ResponseEntity<List<PopularJob>> popular(@RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                .body(service.popular(limit));
+    }
+
+    /**
+     * Jobs mit den meisten eindeutigen Besuchern, nach Alter abgewertet
+     * (höchstens {@value JobViewAggregator#MAX_TRENDING}).
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingJob>> trending(@RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                .body(service.trending(limit));
+    }
+
+    /**
+     * Mehrere Jobs auf einmal ({@code ?ids=3,1,2}, höchstens {@value JobService#MAX_BATCH}) für
+     * gemerkte oder hervorgehobene Listen: eine Abfrage statt eines Requests pro Job. Reihenfolge
+     * wie angefragt, unbekannte IDs fehlen.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<Job>> batch(@RequestParam("ids") List<Long> ids) {
+        try {
+            return ResponseEntity.ok(service.findByIds(ids.stream().distinct().toList()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<JobStats> stats(@PathVariable Long id) {
+        if (service.findById(id).isEmpty()) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(service.stats(id));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Job> detail(@PathVariable Long id) {
+    public ResponseEntity<Job> detail(@PathVariable Long id, WebRequest request, HttpServletRequest servletRequest) {
         var job = service.findById(id);
-        return job.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (job.isEmpty()) return ResponseEntity.notFound().build();
+        // Auch 304 zählt als Aufruf
+        viewTracker.viewed(id, servletRequest);
+
+        // Bei passendem If-None-Match setzt checkNotModified bereits 304, der Body wird nicht serialisiert
+        String etag = etag(job.get());
+        if (request.checkNotModified(etag)) return null;
+        return ResponseEntity.ok().eTag(etag).body(job.get());
     }
 
     @PostMapping
@@ -46,6 +188,20 @@ public class JobApiController {
         }
     }
 
+    /**
+     * Bulk-Import als NDJSON (ein Job pro Zeile) oder CSV mit Kopfzeile.
+     * Der Body wird gestreamt verarbeitet; die Antwort enthält das Ergebnis pro Zeile.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<JobImportReport> importJobs(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        JobImportReport report = TEXT_CSV.isCompatibleWith(contentType)
+                ? importService.importCsv(body)
+                : importService.importNdjson(body);
+        return ResponseEntity.ok(report);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Job> updateJob(@PathVariable Long id, @RequestBody Map<String, Object> request) {
         try {
@@ -66,4 +222,25 @@ public class JobApiController {
         service.deleteJob(id);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    // near hat Vorrang vor lat/lon; lat und lon nur gemeinsam
+    private GeoFilter geoFilter(Double lat, Double lon, String near, double radius, String bbox) {
+        GeoPoint center;
+        if (near != null && !near.isBlank()) {
+            center = gazetteer.locate(near).map(Gazetteer.Place::point)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown place: " + near));
+        } else {
+            if ((lat == null) != (lon == null)) throw new IllegalArgumentException("lat and lon go together");
+            center = GeoPoint.of(lat, lon);
+        }
+        BoundingBox box = bbox == null || bbox.isBlank() ? null : BoundingBox.parse(bbox);
+        return center == null && box == null ? GeoFilter.NONE : new GeoFilter(center, radius, box);
+    }
+
+    // Starkes ETag aus ID und letzter Änderung (updatedAt, sonst createdAt)
+    private static String etag(Job job) {
+        LocalDateTime version = job.getUpdatedAt() != null ? job.getUpdatedAt() : job.getCreatedAt();
+        long micros = version == null ? 0 : version.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + version.getNano() / 1_000;
+        return "\"" + job.getId() + "-" + Long.toString(micros, 36) + "\"";
+    }
+}
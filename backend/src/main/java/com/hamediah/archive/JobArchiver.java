@@ -0,0 +1,144 @@
+package com.hamediah.archive;
+
+import com.hamediah.config.CacheConfig;
+import com.hamediah.opensearch.JobOutbox;
+import com.hamediah.search.JobIndexer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Verschiebt abgelaufene Stellen ({@code expires_at} erreicht) von {@code job_live} nach
+ * {@code job_archive} (siehe V10) und pflegt die Monatspartitionen.
+ * <p>
+ * Archiviert wird in kleinen Blöcken, jeder in einer eigenen kurzen Transaktion: die Zeilen
+ * werden mit {@code FOR UPDATE SKIP LOCKED} gewählt, gerade bearbeitete Jobs also übersprungen
+ * statt abgewartet, und mehrere Instanzen kommen sich nicht in die Quere. Danach verschwinden
+ * die Jobs aus den In-Memory-Indizes, Caches und (per Outbox) aus OpenSearch; per ID bleiben
+ * sie abrufbar.
+ */
+@Component
+@ConditionalOnProperty(name = "hamediah.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class JobArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(JobArchiver.class);
+
+    // UPDATE auf den Partitionsschlüssel verschiebt die Zeile; archived = FALSE beschränkt es auf job_live
+    private static final String ARCHIVE_BATCH = "WITH expired AS ("
+            + " SELECT id FROM job_live WHERE expires_at <= NOW() ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+            + " UPDATE job SET archived = TRUE WHERE archived = FALSE AND id IN (SELECT id FROM expired)"
+            + " RETURNING id";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final JobIndexer indexer;
+    private final JobOutbox outbox;
+    private final CacheManager cacheManager;
+    private final Counter archived;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int monthsAhead;
+    private final Duration lockTimeout;
+
+    public JobArchiver(JdbcTemplate jdbc, TransactionTemplate tx, JobIndexer indexer, JobOutbox outbox,
+                       CacheManager cacheManager, MeterRegistry registry,
+                       @Value("${hamediah.archive.batch-size:200}") int batchSize,
+                       @Value("${hamediah.archive.max-batches-per-run:50}") int maxBatches,
+                       @Value("${hamediah.archive.months-ahead:3}") int monthsAhead,
+                       @Value("${hamediah.archive.lock-timeout:2s}") Duration lockTimeout) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.indexer = indexer;
+        this.outbox = outbox;
+        this.cacheManager = cacheManager;
+        this.archived = Counter.builder("hamediah.jobs.archived")
+                .description("Abgelaufene Stellen, die nach job_archive verschoben wurden")
+                .register(registry);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.monthsAhead = monthsAhead;
+        this.lockTimeout = lockTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${hamediah.archive.interval-ms:60000}",
+            initialDelayString = "${hamediah.archive.interval-ms:60000}")
+    public void archiveExpired() {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = tx.execute(status -> {
+                limitLockWait();
+                List<Long> moved = jdbc.queryForList(ARCHIVE_BATCH, Long.class, batchSize);
+                for (Long id : moved) outbox.deleted(id);
+                return moved;
+            });
+            if (ids == null || ids.isEmpty()) break;
+            forget(ids);
+            total += ids.size();
+            if (ids.size() < batchSize) break;
+        }
+        if (total > 0) log.info("Archived {} expired jobs", total);
+    }
+
+    // Erst nach dem Commit: Indizes und Caches sollen keine Jobs verlieren, deren Block zurückgerollt wurde
+    private void forget(List<Long> ids) {
+        Cache jobs = cacheManager.getCache(CacheConfig.JOBS);
+        for (Long id : ids) {
+            indexer.remove(id);
+            if (jobs != null) jobs.evict(id);
+        }
+        clear(CacheConfig.RECENT_JOBS);
+        clear(CacheConfig.PAGES);
+        archived.increment(ids.size());
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) cache.clear();
+    }
+
+    /**
+     * Legt die Monatspartitionen bis {@code months-ahead} im Voraus an, damit nichts in
+     * {@code job_live_default} landet, und entfernt leere Partitionen vergangener Monate.
+     * Beides braucht kurz eine exklusive Sperre auf {@code job_live}; mit {@code lock-timeout}
+     * bricht es lieber ab und versucht es beim nächsten Lauf erneut, statt Abfragen aufzustauen.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hamediah.archive.maintenance-cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        try {
+            Integer created = tx.execute(status -> {
+                limitLockWait();
+                return jdbc.queryForObject("SELECT job_ensure_partitions(?, ?)", Integer.class,
+                        month, month.plusMonths(monthsAhead));
+            });
+            Integer dropped = tx.execute(status -> {
+                limitLockWait();
+                return jdbc.queryForObject("SELECT job_drop_empty_partitions(?)", Integer.class, month.minusMonths(1));
+            });
+            log.info("Job partitions maintained: {} created, {} empty dropped", created, dropped);
+        } catch (RuntimeException e) {
+            log.warn("Job partition maintenance failed, retrying on next run: {}", e.getMessage());
+        }
+    }
+
+    private void limitLockWait() {
+        jdbc.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+    }
+}
@@ -0,0 +1,94 @@
+package com.hamediah.bloom;
+
+import com.hamediah.repository.ApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom-Filter pro Job über die E-Mail-Adressen der Bewerber. Beantwortet die meisten
+ * "Schon beworben?"-Abfragen ohne Datenbankzugriff: nur bei {@code true} muss
+ * {@code ApplicationService} noch in der Tabelle nachsehen.
+ * Wächst pro Job in Schichten (doppelte Kapazität, halbe Fehlerrate), damit die
+ * Falsch-positiv-Rate auch bei vielen Bewerbungen begrenzt bleibt.
+ */
+@Component
+public class ApplicantBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicantBloomFilter.class);
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final double INITIAL_FPP = 0.01;
+
+    private final ApplicationRepository applicationRepo;
+    private final TransactionTemplate tx;
+    private final Map<Long, List<BloomFilter>> filters = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public ApplicantBloomFilter(ApplicationRepository applicationRepo, TransactionTemplate tx) {
+        this.applicationRepo = applicationRepo;
+        this.tx = tx;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        tx.executeWithoutResult(status -> {
+            try (var rows = applicationRepo.streamApplicantKeys()) {
+                rows.forEach(key -> {
+                    add(key.jobId(), key.applicantEmail());
+                    count.incrementAndGet();
+                });
+            }
+        });
+        ready = true;
+        log.info("Applicant bloom filters warmed: {} applications over {} jobs in {} ms",
+                count.get(), filters.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return {@code false}, wenn sicher keine Bewerbung existiert; {@code true} heißt "möglicherweise"
+     */
+    public boolean mightHaveApplied(Long jobId, String applicantEmail) {
+        if (!ready) return true;
+        List<BloomFilter> layers = filters.get(jobId);
+        if (layers == null) return false;
+        for (BloomFilter layer : layers) {
+            if (layer.mightContain(applicantEmail)) return true;
+        }
+        return false;
+    }
+
+    public void add(Long jobId, String applicantEmail) {
+        List<BloomFilter> layers = filters.computeIfAbsent(jobId, id -> {
+            List<BloomFilter> l = new CopyOnWriteArrayList<>();
+            l.add(BloomFilter.create(INITIAL_CAPACITY, INITIAL_FPP));
+            return l;
+        });
+        BloomFilter current = layers.get(layers.size() - 1);
+        if (current.isFull()) {
+            synchronized (layers) {
+                current = layers.get(layers.size() - 1);
+                if (current.isFull()) {
+                    current = BloomFilter.create(current.capacity() * 2, INITIAL_FPP / (1 << layers.size()));
+                    layers.add(current);
+                }
+            }
+        }
+        current.put(applicantEmail);
+    }
+
+    public void forgetJob(Long jobId) {
+        filters.remove(jobId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.hamediah.bloom;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-sicherer Bloom-Filter fester Größe für String-Schlüssel.
+ * Liefert nie falsch-negative Antworten; die Falsch-positiv-Rate gilt bis {@link #capacity()} Einträge.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private final int capacity;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private BloomFilter(long numBits, int numHashes, int capacity) {
+        this.bits = new AtomicLongArray((int) ((numBits + 63) / 64));
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.capacity = capacity;
+    }
+
+    public static BloomFilter create(int expectedInsertions, double fpp) {
+        int n = Math.max(expectedInsertions, 1);
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k, n);
+    }
+
+    public void put(String key) {
+        long h1 = hash(key);
+        long h2 = fmix64(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long old;
+            do {
+                old = bits.get(word);
+                if ((old & mask) != 0) break;
+            } while (!bits.compareAndSet(word, old, old | mask));
+        }
+        count.incrementAndGet();
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = fmix64(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return count.get() >= capacity;
+    }
+
+    // FNV-1a über die UTF-16-Zeichen, danach Murmur3-Finalizer für gute Bitverteilung
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return fmix64(h);
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,53 @@
+package com.hamediah.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hamediah.web.CachedPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * Aktiviert den Caffeine-Cache (Größe/TTL über spring.cache.caffeine.spec).
+ * Cache-Namen: {@link #JOBS} für einzelne Jobs, {@link #RECENT_JOBS} für die Startseite,
+ * {@link #PAGES} für gerenderte Seiten (eigene Grenze in Bytes, siehe PageCacheFilter).
+ * <p>
+ * Der Manager ist transaktionsbewusst: {@code @CacheEvict} an einer {@code @Transactional}-Methode
+ * leert den Cache erst nach dem Commit. Sonst könnte eine parallele Anfrage zwischen Evict und
+ * Commit den alten Stand lesen und wieder einlagern. Außerhalb von Transaktionen wirkt alles sofort.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String JOBS = "jobs";
+    public static final String RECENT_JOBS = "recentJobs";
+    public static final String PAGES = "pages";
+
+    // Eigener Manager statt Boot-Autokonfiguration, die sich nicht in den Proxy hüllen lässt
+    @Bean
+    public CacheManager cacheManager(
+            CacheProperties properties,
+            @Value("${hamediah.page-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${hamediah.page-cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        String spec = properties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) caffeine.setCacheSpecification(spec);
+        if (!properties.getCacheNames().isEmpty()) caffeine.setCacheNames(properties.getCacheNames());
+        caffeine.registerCustomCache(PAGES, Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Object key, Object page) -> ((CachedPage) page).weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
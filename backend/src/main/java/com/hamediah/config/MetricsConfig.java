@@ -0,0 +1,44 @@
+package com.hamediah.config;
+
+import com.hamediah.metrics.SqlMetricsListener;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Metriken für die Hot Paths: {@code @Timed} auf den Services (TimedAspect) und ein
+ * datasource-proxy vor der DataSource für SQL-Timer, Statements pro Request und das
+ * Slow-Query-Log ({@code hamediah.metrics.slow-query-threshold}).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // static: BeanPostProcessor muss vor den übrigen Beans der Konfiguration existieren
+    @Bean
+    public static BeanPostProcessor dataSourceMetricsProxy(
+            ObjectProvider<MeterRegistry> registry,
+            @Value("${hamediah.metrics.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) return bean;
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new SqlMetricsListener(registry, slowQueryThreshold))
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.hamediah.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aktiviert {@code @Scheduled} für Hintergrundjobs (z. B. den OpenSearch-Outbox-Relay).
+ * Der Scheduler hat mehrere Threads ({@code spring.task.scheduling.pool.size}), damit eine
+ * hängende Aufgabe nicht alle anderen aufhält.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,7 +1,12 @@
 package com.hamediah.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -11,6 +16,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -21,18 +29,36 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Actuator läuft auf eigenem Port (management.server.port/address, standardmäßig nur localhost).
+     * Öffentlich ist nur Health; Metriken und Startup-Report gibt es nur über den Management-Port,
+     * nie über den App-Port, auch wenn beide Ports versehentlich gleich konfiguriert sind.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${server.port:8080}") int serverPort,
+                                                   @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        RequestMatcher onManagementPort = request ->
+                managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS
             .csrf(csrf -> csrf
                 .ignoringRequestMatchers("/api/**") // Disable CSRF for API endpoints
             )
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/css/**", "/js/**", "/images/**", "/webjars/**", "/actuator/health").permitAll()
+                .requestMatchers("/", "/css/**", "/js/**", "/images/**", "/webjars/**").permitAll()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(onManagementPort).permitAll()
+                // Kontaktadresse bekommt Namen und E-Mail aller Bewerber (MailDispatcher): nur Admins.
+                // Ein Firmen-Besitzer existiert im Modell nicht, daher keine Freigabe pro Firma
+                .requestMatchers(HttpMethod.POST, "/api/companies").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PUT, "/api/companies/*").hasRole("ADMIN")
                 .requestMatchers("/api/**").permitAll() // Allow API access without authentication
                 .anyRequest().authenticated()
             )
+            // API ohne Anmeldung: 401 statt Redirect auf die Login-Seite
+            .exceptionHandling(ex -> ex.defaultAuthenticationEntryPointFor(
+                    new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED), new AntPathRequestMatcher("/api/**")))
             .formLogin(Customizer.withDefaults())
             .logout(Customizer.withDefaults());
         return http.build();
@@ -0,0 +1,93 @@
+package com.hamediah.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes bei Replica-Routing: nach einem Schreibvorgang liest derselbe Client für
+ * {@code hamediah.datasource.replicas.read-your-writes-window} vom Primary. Gemerkt wird das
+ * im Cookie {@value #COOKIE} (Ablaufzeitpunkt in Millisekunden), damit es auch für zustandslose
+ * API-Clients ohne HTTP-Session funktioniert; {@link ReadYourWritesFilter} wertet es aus.
+ * Ohne Replicas ({@code hamediah.datasource.replicas.enabled=false}) passiert nichts.
+ */
+@Component
+public class ReadYourWrites {
+
+    public static final String COOKIE = "RW_PRIMARY";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Duration window;
+
+    public ReadYourWrites(@Value("${hamediah.datasource.replicas.enabled:false}") boolean enabled,
+                          @Value("${hamediah.datasource.replicas.read-your-writes-window:5s}") Duration window) {
+        this.enabled = enabled;
+        this.window = window;
+    }
+
+    /** Liest der aktuelle Thread zwingend vom Primary? */
+    static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Vom Service nach einem Schreibvorgang aufzurufen. Innerhalb einer Transaktion greift das
+     * erst nach dem Commit, ein Rollback setzt also kein Cookie.
+     */
+    public void written() {
+        if (!enabled) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pin();
+                }
+            });
+        } else {
+            pin();
+        }
+    }
+
+    private void pin() {
+        PINNED.set(Boolean.TRUE);
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return;
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) return;
+        Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        response.addCookie(cookie);
+    }
+
+    // Für die Dauer eines Requests; Werte weiter in der Zukunft als das Fenster werden ignoriert
+    void begin(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return;
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : cookies) {
+            if (!COOKIE.equals(cookie.getName())) continue;
+            try {
+                long until = Long.parseLong(cookie.getValue());
+                if (until > now && until <= now + window.toMillis()) PINNED.set(Boolean.TRUE);
+            } catch (NumberFormatException ignored) {
+                // fremder Wert, einfach nicht anheften
+            }
+            return;
+        }
+    }
+
+    void end() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,92 @@
+package com.hamediah.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optionales Read-Replica-Routing ({@code hamediah.datasource.replicas.enabled}). Ersetzt die
+ * DataSource aus der Auto-Configuration: der Primary kommt weiter aus {@code spring.datasource.*}
+ * (inkl. {@code spring.datasource.hikari.*}), dazu ein Pool je URL aus
+ * {@code hamediah.datasource.replicas.urls} (Pool-Einstellungen unter {@code ...replicas.hikari.*}).
+ * Mehr Lesekapazität heißt: weitere URL eintragen.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hamediah.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties properties, Environment env, MeterRegistry registry,
+                                 @Value("${hamediah.datasource.replicas.urls}") List<String> urls,
+                                 @Value("${hamediah.datasource.replicas.username:}") String username,
+                                 @Value("${hamediah.datasource.replicas.password:}") String password,
+                                 @Value("${hamediah.datasource.replicas.max-lag:2s}") Duration maxLag,
+                                 @Value("${hamediah.datasource.replicas.lag-query}") String lagQuery,
+                                 @Value("${hamediah.datasource.replicas.lag-check-interval-ms:1000}") long checkIntervalMs,
+                                 @Value("${hamediah.datasource.replicas.lag-check-timeout:1s}") Duration checkTimeout) {
+        Binder binder = Binder.get(env);
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(registry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<HikariDataSource> checkPools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = replicaPool(properties, urls.get(i), username, password);
+            binder.bind("hamediah.datasource.replicas.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(replica);
+
+            // Eigene Verbindung für die Lag-Messung: wartet nie auf einen ausgelasteten Lese-Pool
+            // und gibt bei einem toten Replica nach check-timeout statt connectionTimeout auf
+            HikariDataSource check = replicaPool(properties, urls.get(i), username, password);
+            check.setPoolName("replica-" + i + "-lag-check");
+            check.setMaximumPoolSize(1);
+            check.setMinimumIdle(0);
+            check.setConnectionTimeout(checkTimeout.toMillis());
+            check.setInitializationFailTimeout(-1);
+            checkPools.add(check);
+        }
+        return new ReplicaSet(primary, replicas, checkPools, lagQuery, maxLag, Duration.ofMillis(checkIntervalMs),
+                checkTimeout, registry);
+    }
+
+    private static HikariDataSource replicaPool(DataSourceProperties properties, String url, String username,
+                                                String password) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url.trim())
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicas);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
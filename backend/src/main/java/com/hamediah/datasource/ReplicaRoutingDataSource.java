@@ -0,0 +1,32 @@
+package com.hamediah.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Leitet Read-only-Transaktionen auf ein gesundes Replica, alles andere (Schreibzugriffe,
+ * Zugriffe ohne Transaktion, angeheftete Clients) auf den Primary. Muss hinter einer
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} liegen: der
+ * Transaktionsmanager holt die Connection, bevor das Read-only-Flag gesetzt ist.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicas;
+
+    ReplicaRoutingDataSource(ReplicaSet replicas) {
+        this.replicas = replicas;
+        setTargetDataSources(replicas.targets());
+        setDefaultTargetDataSource(replicas.primary());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPinned()) {
+            return PRIMARY;
+        }
+        String replica = replicas.next();
+        return replica != null ? replica : PRIMARY;
+    }
+}
@@ -0,0 +1,159 @@
+package com.hamediah.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primary- und Replica-Pools. Die Replikationsverzögerung wird regelmäßig abgefragt; Replicas
+ * über {@code max-lag} oder ohne Verbindung fallen aus der Rotation, bis sie wieder aufholen.
+ * Bis zur ersten erfolgreichen Messung gehen alle Lesezugriffe an den Primary.
+ * <p>
+ * Jedes Replica wird auf einem eigenen Thread über einen eigenen Ein-Verbindungs-Pool mit kurzem
+ * Timeout gemessen, unabhängig vom Spring-Scheduler und von ausgelasteten Lese-Pools. Liegt die
+ * letzte abgeschlossene Messung länger als drei Intervalle zurück (Messung hängt), gilt das Replica
+ * ebenfalls als ungesund.
+ */
+public class ReplicaSet implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final int queryTimeoutSeconds;
+    private final long staleAfterNanos;
+    private final ScheduledExecutorService checker;
+
+    /**
+     * @param checkPools je Replica (gleiche Reihenfolge) ein Pool nur für die Messung
+     */
+    ReplicaSet(HikariDataSource primary, List<HikariDataSource> replicaPools, List<HikariDataSource> checkPools,
+               String lagQuery, Duration maxLag, Duration checkInterval, Duration checkTimeout, MeterRegistry registry) {
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.queryTimeoutSeconds = (int) Math.max(1, checkTimeout.toSeconds());
+        this.staleAfterNanos = checkInterval.multipliedBy(3).plus(checkTimeout).toNanos();
+        for (int i = 0; i < replicaPools.size(); i++) {
+            HikariDataSource pool = replicaPools.get(i);
+            Replica replica = new Replica(pool.getPoolName(), pool, checkPools.get(i));
+            replicas.add(replica);
+            Gauge.builder("hamediah.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replikationsverzögerung laut letzter Messung")
+                    .baseUnit("seconds")
+                    .tag("pool", replica.name)
+                    .register(registry);
+            Gauge.builder("hamediah.datasource.replica.healthy", this, set -> set.isHealthy(replica) ? 1 : 0)
+                    .tag("pool", replica.name)
+                    .register(registry);
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        this.checker = Executors.newScheduledThreadPool(Math.max(1, replicas.size()), r -> {
+            Thread t = new Thread(r, "replica-lag-check-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (Replica replica : replicas) {
+            checker.scheduleWithFixedDelay(() -> checkLag(replica), 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    HikariDataSource primary() {
+        return primary;
+    }
+
+    Map<Object, Object> targets() {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        for (Replica replica : replicas) targets.put(replica.name, replica.pool);
+        return targets;
+    }
+
+    /** Nächstes gesundes Replica (Round Robin) oder {@code null}, wenn keins verfügbar ist. */
+    String next() {
+        int n = replicas.size();
+        int start = Math.floorMod(counter.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica replica = replicas.get((start + i) % n);
+            if (isHealthy(replica)) return replica.name;
+        }
+        return null;
+    }
+
+    private boolean isHealthy(Replica replica) {
+        return replica.healthy && System.nanoTime() - replica.checkedAt <= staleAfterNanos;
+    }
+
+    private void checkLag(Replica replica) {
+        boolean healthy;
+        try (Connection con = replica.checkPool.getConnection();
+             Statement st = con.createStatement()) {
+            st.setQueryTimeout(queryTimeoutSeconds);
+            try (ResultSet rs = st.executeQuery(lagQuery)) {
+                replica.lagSeconds = rs.next() ? rs.getDouble(1) : Double.NaN;
+            }
+            healthy = replica.lagSeconds <= maxLagSeconds;
+            if (!healthy && replica.healthy) {
+                log.warn("Replica {} lags {}s behind, reading from primary", replica.name, replica.lagSeconds);
+            }
+        } catch (SQLException e) {
+            replica.lagSeconds = Double.NaN;
+            healthy = false;
+            if (replica.healthy) log.warn("Replica {} unavailable, reading from primary: {}", replica.name, e.getMessage());
+        } catch (RuntimeException e) {
+            // Darf den periodischen Task nicht beenden
+            replica.lagSeconds = Double.NaN;
+            healthy = false;
+            log.warn("Lag check of replica {} failed: {}", replica.name, e.toString());
+        }
+        if (healthy && !replica.healthy) log.info("Replica {} in rotation (lag {}s)", replica.name, replica.lagSeconds);
+        replica.checkedAt = System.nanoTime();
+        replica.healthy = healthy;
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.checkPool.close();
+            replica.pool.close();
+        }
+        primary.close();
+    }
+
+    private static final class Replica {
+        final String name;
+        final HikariDataSource pool;
+        final HikariDataSource checkPool;
+        volatile boolean healthy;
+        volatile double lagSeconds = Double.NaN;
+        // System.nanoTime() der letzten abgeschlossenen Messung
+        volatile long checkedAt;
+
+        Replica(String name, HikariDataSource pool, HikariDataSource checkPool) {
+            this.name = name;
+            this.pool = pool;
+            this.checkPool = checkPool;
+        }
+    }
+}
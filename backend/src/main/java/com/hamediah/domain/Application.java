@@ -1,5 +1,6 @@
 package com.hamediah.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -7,9 +8,12 @@ import java.time.LocalDateTime;
 @Table(name = "application")
 public class Application {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "application_seq")
+    @SequenceGenerator(name = "application_seq", sequenceName = "application_id_seq", allocationSize = 50)
     private Long id;
 
+    // In JSON nur als jobId, damit der Lazy-Proxy nicht serialisiert wird
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
     private Job job;
@@ -39,6 +43,7 @@ public class Application {
     public void setId(Long id) { this.id = id; }
     public Job getJob() { return job; }
     public void setJob(Job job) { this.job = job; }
+    public Long getJobId() { return job != null ? job.getId() : null; }
     public String getApplicantEmail() { return applicantEmail; }
     public void setApplicantEmail(String applicantEmail) { this.applicantEmail = applicantEmail; }
     public String getApplicantName() { return applicantName; }
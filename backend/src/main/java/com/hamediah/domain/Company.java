@@ -1,5 +1,6 @@
 package com.hamediah.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -7,7 +8,8 @@ import java.time.LocalDateTime;
 @Table(name = "company")
 public class Company {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "company_seq")
+    @SequenceGenerator(name = "company_seq", sequenceName = "company_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 255)
@@ -16,6 +18,11 @@ public class Company {
     @Column(length = 255)
     private String website;
 
+    // Empfänger der Bewerbungs-Benachrichtigungen (MailOutbox), wird nicht mit ausgeliefert
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @Column(name = "contact_email", length = 255)
+    private String contactEmail;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -31,6 +38,8 @@ public class Company {
     public void setName(String name) { this.name = name; }
     public String getWebsite() { return website; }
     public void setWebsite(String website) { this.website = website; }
+    public String getContactEmail() { return contactEmail; }
+    public void setContactEmail(String contactEmail) { this.contactEmail = contactEmail; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
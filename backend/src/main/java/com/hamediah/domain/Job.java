@@ -1,15 +1,21 @@
 package com.hamediah.domain;
 
 import jakarta.persistence.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "job")
 public class Job {
+    // Laufzeit einer Stellenanzeige, wenn beim Anlegen kein Ablaufdatum gesetzt ist
+    public static final Duration DEFAULT_LIFETIME = Duration.ofDays(60);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_seq")
+    @SequenceGenerator(name = "job_seq", sequenceName = "job_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable=false, length=255)
@@ -22,6 +28,13 @@ public class Job {
     @Column(length=255)
     private String location;
 
+    // Aus location per Gazetteer, null bei unbekanntem Ort
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @JdbcTypeCode(SqlTypes.LONGVARCHAR)
     @Column
     private String tags;
@@ -36,9 +49,18 @@ public class Job {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // Partitionsschlüssel (V10): setzt nur JobArchiver per SQL, JPA schreibt die Spalte nie
+    @ColumnDefault("false")
+    @Column(name = "archived", nullable = false, insertable = false, updatable = false)
+    private boolean archived;
+
     @PrePersist
     public void prePersist() {
         if (createdAt == null) createdAt = LocalDateTime.now();
+        if (expiresAt == null) expiresAt = createdAt.plus(DEFAULT_LIFETIME);
     }
 
     @PreUpdate
@@ -55,6 +77,10 @@ public class Job {
     public void setDescription(String description) { this.description = description; }
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
     public String getTags() { return tags; }
     public void setTags(String tags) { this.tags = tags; }
     public Company getCompany() { return company; }
@@ -63,4 +89,7 @@ public class Job {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public boolean isArchived() { return archived; }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.hamediah.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_outbox")
+public class JobOutboxEvent {
+
+    public enum Operation { UPSERT, DELETE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_outbox_seq")
+    @SequenceGenerator(name = "job_outbox_seq", sequenceName = "job_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    // Bewusst ohne Foreign Key: auch gelöschte Jobs brauchen ein DELETE-Ereignis
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Operation operation;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
+
+    // getters/setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+    public Operation getOperation() { return operation; }
+    public void setOperation(Operation operation) { this.operation = operation; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,7 @@
+package com.hamediah.dto;
+
+/**
+ * (Job, E-Mail)-Paar einer Bewerbung, z. B. zum Aufwärmen des Bloom-Filters.
+ */
+public record ApplicantKey(Long jobId, String applicantEmail) {
+}
@@ -0,0 +1,12 @@
+package com.hamediah.dto;
+
+import com.hamediah.domain.Company;
+
+import java.util.List;
+
+/**
+ * Antwort von {@code GET /api/companies/{id}/jobs}: die Firma und eine Seite ihrer aktiven
+ * Jobs (neueste zuerst), {@code next} wie bei {@code CursorPage}.
+ */
+public record CompanyJobs(Company company, List<JobSummary> items, String next) {
+}
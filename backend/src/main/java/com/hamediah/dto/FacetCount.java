@@ -0,0 +1,7 @@
+package com.hamediah.dto;
+
+/**
+ * Anzahl der Treffer für einen Facettenwert ({@code value} ist die Anzeigeform).
+ */
+public record FacetCount(String value, int count) {
+}
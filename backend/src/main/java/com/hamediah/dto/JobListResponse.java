@@ -0,0 +1,18 @@
+package com.hamediah.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Antwort von {@code GET /api/jobs}: eine Seite Zusammenfassungen, der Cursor der Folgeseite
+ * und – nur auf Anfrage – die Facettenzählungen (location, tag, company). Bei Umkreissuche
+ * zusätzlich die Entfernung in km je Job mit bekanntem Ort.
+ */
+public record JobListResponse(
+        List<JobSummary> items,
+        String next,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, List<FacetCount>> facets,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<Long, Double> distances) {
+}
@@ -0,0 +1,7 @@
+package com.hamediah.dto;
+
+/**
+ * Kennzahlen eines Jobs aus den In-Memory-Zählern.
+ */
+public record JobStats(Long jobId, long applications) {
+}
@@ -0,0 +1,33 @@
+package com.hamediah.dto;
+
+import com.hamediah.domain.Job;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schlanke Listenansicht eines Jobs: ohne vollständige Beschreibung, Tags und Company-Entity.
+ * Wird direkt per JPQL-Konstruktorausdruck aus {@code JobRepository} befüllt.
+ */
+public record JobSummary(
+        Long id,
+        String title,
+        Long companyId,
+        String companyName,
+        String location,
+        String snippet,
+        LocalDateTime createdAt) {
+
+    /** Länge des Beschreibungsauszugs, den die Listen-Queries per substring() laden. */
+    public static final int SNIPPET_LENGTH = 200;
+
+    /** Aus einer bereits geladenen Entity, gleicher Auszug wie in den Listen-Queries. */
+    public static JobSummary of(Job job) {
+        String description = job.getDescription();
+        String snippet = description == null || description.length() <= SNIPPET_LENGTH
+                ? description : description.substring(0, SNIPPET_LENGTH);
+        return new JobSummary(job.getId(), job.getTitle(),
+                job.getCompany() != null ? job.getCompany().getId() : null,
+                job.getCompany() != null ? job.getCompany().getName() : null,
+                job.getLocation(), snippet, job.getCreatedAt());
+    }
+}
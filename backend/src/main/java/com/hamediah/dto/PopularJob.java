@@ -0,0 +1,7 @@
+package com.hamediah.dto;
+
+/**
+ * Eintrag der Rangliste "meiste Bewerbungen".
+ */
+public record PopularJob(JobSummary job, long applications) {
+}
@@ -0,0 +1,8 @@
+package com.hamediah.dto;
+
+/**
+ * Ein Vorschlag für die Sucheingabe: Anzeigetext, Art ({@code title}, {@code company},
+ * {@code location}) und Anzahl der Jobs, in denen er vorkommt.
+ */
+public record Suggestion(String text, String type, int count) {
+}
@@ -0,0 +1,7 @@
+package com.hamediah.dto;
+
+/**
+ * Eintrag der Trending-Liste; {@code score} sind abgewertete eindeutige Besucher.
+ */
+public record TrendingJob(JobSummary job, double score) {
+}
@@ -0,0 +1,39 @@
+package com.hamediah.geo;
+
+/**
+ * Rechteck in Grad. {@code west > east} bedeutet, dass es die Datumsgrenze überquert.
+ *
+ * @throws IllegalArgumentException bei ungültigen Grenzen oder {@code south > north}
+ */
+public record BoundingBox(double south, double west, double north, double east) {
+
+    public BoundingBox {
+        new GeoPoint(south, west);
+        new GeoPoint(north, east);
+        if (south > north) throw new IllegalArgumentException("Bounding box south is above north");
+    }
+
+    /**
+     * Aus {@code "west,south,east,north"} (Reihenfolge wie bei GeoJSON).
+     */
+    public static BoundingBox parse(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 4) throw new IllegalArgumentException("Bounding box needs west,south,east,north");
+        try {
+            return new BoundingBox(Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[0].trim()),
+                    Double.parseDouble(parts[3].trim()), Double.parseDouble(parts[2].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid bounding box: " + value);
+        }
+    }
+
+    public boolean crossesDateLine() {
+        return west > east;
+    }
+
+    public boolean contains(GeoPoint point) {
+        if (point.latitude() < south || point.latitude() > north) return false;
+        double lon = point.longitude();
+        return crossesDateLine() ? lon >= west || lon <= east : lon >= west && lon <= east;
+    }
+}
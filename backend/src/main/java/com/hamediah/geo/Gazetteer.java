@@ -0,0 +1,95 @@
+package com.hamediah.geo;
+
+import com.hamediah.domain.Job;
+import com.hamediah.search.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline-Geokodierung von {@code Job.location} über eine mitgelieferte Städteliste
+ * ({@code hamediah.geo.gazetteer}, Format siehe {@code geo/cities.tsv}), ohne externen Dienst.
+ * <p>
+ * Namen und Freitext werden wie im Suchindex normalisiert und in Tokens zerlegt; gesucht wird
+ * von links die längste Tokenfolge, die ein bekannter Name ist. So werden "Riyadh, Saudi Arabia",
+ * "الرياض" und "Remote / Riyadh" zu Riad, "Frankfurt (Oder)" aber nicht zu Frankfurt am Main.
+ * Unbekannte Orte (z. B. "Remote") bleiben ohne Koordinaten.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Logger log = LoggerFactory.getLogger(Gazetteer.class);
+
+    public record Place(String name, String country, GeoPoint point) {
+    }
+
+    // Normalisierter Name (Tokens mit Leerzeichen verbunden) -> Ort
+    private final Map<String, Place> byName = new HashMap<>();
+    private final List<Place> places = new ArrayList<>();
+    // Längster Name in Tokens, begrenzt die Suche in locate()
+    private int maxTokens;
+
+    public Gazetteer(@Value("${hamediah.geo.gazetteer:classpath:geo/cities.tsv}") Resource source) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] columns = line.split("\t");
+                if (columns.length < 4) throw new IllegalStateException("Gazetteer " + source + " line " + lineNo + ": expected 4 columns");
+                Place place = new Place(columns[0], columns[1],
+                        new GeoPoint(Double.parseDouble(columns[2]), Double.parseDouble(columns[3])));
+                places.add(place);
+                add(place.name(), place);
+                if (columns.length > 4) {
+                    for (String alias : columns[4].split(",")) add(alias, place);
+                }
+            }
+        }
+        log.info("Gazetteer loaded: {} places, {} names from {}", places.size(), byName.size(), source.getDescription());
+    }
+
+    public List<Place> places() {
+        return List.copyOf(places);
+    }
+
+    /** Der erste bekannte Ort in der Freitext-Angabe. */
+    public Optional<Place> locate(String location) {
+        List<String> tokens = TextNormalizer.tokenize(location);
+        for (int start = 0; start < tokens.size(); start++) {
+            for (int length = Math.min(maxTokens, tokens.size() - start); length > 0; length--) {
+                Place place = byName.get(String.join(" ", tokens.subList(start, start + length)));
+                if (place != null) return Optional.of(place);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Setzt die Koordinaten des Jobs passend zu seinem Ort, bei unbekanntem Ort auf {@code null}. */
+    public void geocode(Job job) {
+        GeoPoint point = locate(job.getLocation()).map(Place::point).orElse(null);
+        job.setLatitude(point != null ? point.latitude() : null);
+        job.setLongitude(point != null ? point.longitude() : null);
+    }
+
+    // Bei gleichen Namen gewinnt der frühere Eintrag
+    private void add(String name, Place place) {
+        List<String> tokens = TextNormalizer.tokenize(name);
+        if (tokens.isEmpty()) return;
+        byName.putIfAbsent(String.join(" ", tokens), place);
+        maxTokens = Math.max(maxTokens, tokens.size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.hamediah.geo;
+
+/**
+ * Punkt in Grad (WGS84). Gleiche Koordinaten sind gleiche Punkte; die Indizes fassen Jobs
+ * darüber pro Ort zusammen.
+ *
+ * @throws IllegalArgumentException bei Breite außerhalb ±90 bzw. Länge außerhalb ±180
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    /** Mittlerer Erdradius. */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public GeoPoint {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + "," + longitude);
+        }
+    }
+
+    /** {@code null}, wenn eine der Koordinaten fehlt. */
+    public static GeoPoint of(Double latitude, Double longitude) {
+        return latitude == null || longitude == null ? null : new GeoPoint(latitude, longitude);
+    }
+
+    /** Großkreisentfernung (Haversine). */
+    public double distanceKm(GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
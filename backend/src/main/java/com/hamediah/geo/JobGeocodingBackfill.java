@@ -0,0 +1,72 @@
+package com.hamediah.geo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kodiert beim Start aktive Jobs ohne Koordinaten nach (Bestand aus der Zeit vor V13, Orte, die
+ * der Gazetteer inzwischen kennt). Nachgeschlagen wird jeder Ort nur einmal, geschrieben pro
+ * Block ein UPDATE über eine VALUES-Liste. Läuft vor dem Aufbau der In-Memory-Indizes
+ * ({@code JobIndexer}), damit der Geo-Index schon die neuen Koordinaten sieht.
+ */
+@Component
+public class JobGeocodingBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(JobGeocodingBackfill.class);
+
+    // Orte pro UPDATE-Statement
+    private static final int CHUNK = 500;
+
+    private final JdbcTemplate jdbc;
+    private final Gazetteer gazetteer;
+
+    public JobGeocodingBackfill(JdbcTemplate jdbc, Gazetteer gazetteer) {
+        this.jdbc = jdbc;
+        this.gazetteer = gazetteer;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        try {
+            List<String> locations = jdbc.queryForList(
+                    "SELECT DISTINCT location FROM job_live WHERE latitude IS NULL AND location IS NOT NULL", String.class);
+            List<Object[]> resolved = new ArrayList<>();
+            for (String location : locations) {
+                gazetteer.locate(location).ifPresent(place ->
+                        resolved.add(new Object[]{location, place.point().latitude(), place.point().longitude()}));
+            }
+            int updated = 0;
+            for (int from = 0; from < resolved.size(); from += CHUNK) {
+                updated += update(resolved.subList(from, Math.min(from + CHUNK, resolved.size())));
+            }
+            if (!locations.isEmpty()) {
+                log.info("Geocoded {} jobs: {} of {} distinct locations known", updated, resolved.size(), locations.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Geocoding backfill failed, retrying on next start: {}", e.getMessage());
+        }
+    }
+
+    private int update(List<Object[]> rows) {
+        StringBuilder sql = new StringBuilder("UPDATE job j SET latitude = v.latitude, longitude = v.longitude FROM (VALUES ");
+        List<Object> args = new ArrayList<>(rows.size() * 3);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) sql.append(',');
+            sql.append("(?::varchar, ?::float8, ?::float8)");
+            for (Object value : rows.get(i)) args.add(value);
+        }
+        sql.append(") AS v(location, latitude, longitude)"
+                + " WHERE j.archived = FALSE AND j.latitude IS NULL AND j.location = v.location");
+        return jdbc.update(sql.toString(), args.toArray());
+    }
+}
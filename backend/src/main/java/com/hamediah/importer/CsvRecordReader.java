@@ -0,0 +1,73 @@
+package com.hamediah.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimaler RFC-4180-Leser: liest einen Datensatz nach dem anderen direkt vom Stream,
+ * unterstützt Felder in Anführungszeichen mit Kommas, "" und Zeilenumbrüchen.
+ */
+class CsvRecordReader {
+
+    private final Reader in;
+    private int lookahead = -2;
+
+    CsvRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return die Felder des nächsten Datensatzes oder {@code null} am Ende des Streams
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) throw new IOException("Unterminated quoted CSV field");
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') lookahead = n;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (lookahead != -2) {
+            int c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        return in.read();
+    }
+}
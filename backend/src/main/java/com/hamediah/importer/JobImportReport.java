@@ -0,0 +1,20 @@
+package com.hamediah.importer;
+
+import java.util.List;
+
+/**
+ * Ergebnis eines Bulk-Imports mit Status pro Eingabezeile.
+ */
+public record JobImportReport(
+        int received,
+        int created,
+        int failed,
+        long durationMs,
+        long rowsPerSecond,
+        List<RowResult> rows) {
+
+    public record RowResult(int row, Status status, Long id, String error) {
+    }
+
+    public enum Status { CREATED, FAILED }
+}
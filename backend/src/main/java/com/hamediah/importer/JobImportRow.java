@@ -0,0 +1,15 @@
+package com.hamediah.importer;
+
+/**
+ * Eine Zeile des Bulk-Imports (NDJSON-Objekt oder CSV-Datensatz).
+ * Die Firma wird über {@code companyId} oder per Name über {@code company} aufgelöst;
+ * unbekannte Namen werden angelegt.
+ */
+public record JobImportRow(
+        String title,
+        String description,
+        String location,
+        String tags,
+        String company,
+        Long companyId) {
+}
@@ -0,0 +1,308 @@
+package com.hamediah.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamediah.config.CacheConfig;
+import com.hamediah.domain.Company;
+import com.hamediah.domain.Job;
+import com.hamediah.geo.Gazetteer;
+import com.hamediah.importer.JobImportReport.RowResult;
+import com.hamediah.importer.JobImportReport.Status;
+import com.hamediah.opensearch.JobOutbox;
+import com.hamediah.repository.CompanyRepository;
+import com.hamediah.search.JobIndexEntry;
+import com.hamediah.search.JobIndexer;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk-Import von Jobs aus NDJSON oder CSV. Der Request-Body wird zeilenweise gelesen und in
+ * Blöcken von {@value #CHUNK_SIZE} Zeilen geschrieben: Firmen werden pro Block gesammelt aufgelöst
+ * bzw. angelegt, Jobs per JDBC-Batch eingefügt (IDs aus der Sequenz, siehe V5). Scheitert ein
+ * Block trotzdem, wird er Zeile für Zeile wiederholt, damit nur die fehlerhafte Zeile scheitert.
+ */
+@Service
+public class JobImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobImportService.class);
+
+    static final int CHUNK_SIZE = 500;
+    // Spaltenbreiten aus V1; zu lange Werte würden sonst erst den ganzen Block zurückrollen
+    static final int MAX_TITLE_LENGTH = 255;
+    static final int MAX_LOCATION_LENGTH = 255;
+    static final int MAX_COMPANY_LENGTH = 255;
+
+    private final EntityManager em;
+    private final CompanyRepository companyRepo;
+    private final TransactionTemplate tx;
+    private final JobIndexer indexer;
+    private final ObjectMapper mapper;
+    private final JobOutbox outbox;
+    private final Gazetteer gazetteer;
+
+    public JobImportService(EntityManager em, CompanyRepository companyRepo, TransactionTemplate tx,
+                            JobIndexer indexer, ObjectMapper mapper, JobOutbox outbox, Gazetteer gazetteer) {
+        this.em = em;
+        this.companyRepo = companyRepo;
+        this.tx = tx;
+        this.indexer = indexer;
+        this.mapper = mapper;
+        this.outbox = outbox;
+        this.gazetteer = gazetteer;
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.RECENT_JOBS, CacheConfig.PAGES}, allEntries = true)
+    public JobImportReport importNdjson(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        int rowNo = 0;
+        while ((line = reader.readLine()) != null) {
+            rowNo++;
+            if (line.isBlank()) continue;
+            try {
+                run.add(rowNo, mapper.readValue(line, JobImportRow.class));
+            } catch (JsonProcessingException e) {
+                run.fail(rowNo, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    /**
+     * Erwartet eine Kopfzeile; bekannte Spalten sind
+     * {@code title, description, location, tags, company, companyId} (Reihenfolge beliebig).
+     */
+    @CacheEvict(cacheNames = {CacheConfig.RECENT_JOBS, CacheConfig.PAGES}, allEntries = true)
+    public JobImportReport importCsv(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+        CsvRecordReader csv = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        List<String> header = csv.next();
+        if (header == null) return run.finish();
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> fields;
+        int rowNo = 1;
+        while ((fields = csv.next()) != null) {
+            rowNo++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+            String companyId = column(fields, columns, "companyid");
+            try {
+                run.add(rowNo, new JobImportRow(
+                        column(fields, columns, "title"),
+                        column(fields, columns, "description"),
+                        column(fields, columns, "location"),
+                        column(fields, columns, "tags"),
+                        column(fields, columns, "company"),
+                        companyId == null || companyId.isBlank() ? null : Long.valueOf(companyId.trim())));
+            } catch (NumberFormatException e) {
+                run.fail(rowNo, "Invalid companyId: " + companyId);
+            }
+        }
+        return run.finish();
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        return i == null || i >= fields.size() ? null : fields.get(i);
+    }
+
+    private record PendingRow(int rowNo, JobImportRow row) {
+    }
+
+    private record CompanyRef(Long id, String name) {
+    }
+
+    /**
+     * Zustand eines Imports: gepufferter Block, bekannte Firmen und Ergebnisse.
+     */
+    private class ImportRun {
+        private final long start = System.nanoTime();
+        private final List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<RowResult> results = new ArrayList<>();
+        private final Map<String, CompanyRef> companiesByName = new HashMap<>();
+        private final Map<Long, CompanyRef> companiesById = new HashMap<>();
+        private final List<CompanyRef> createdInChunk = new ArrayList<>();
+        private int created;
+        private int failed;
+
+        void add(int rowNo, JobImportRow row) {
+            if (row.title() == null || row.title().isBlank()) {
+                fail(rowNo, "title is required");
+            } else if (row.description() == null || row.description().isBlank()) {
+                fail(rowNo, "description is required");
+            } else if (row.title().length() > MAX_TITLE_LENGTH) {
+                fail(rowNo, "title exceeds " + MAX_TITLE_LENGTH + " characters");
+            } else if (row.location() != null && row.location().length() > MAX_LOCATION_LENGTH) {
+                fail(rowNo, "location exceeds " + MAX_LOCATION_LENGTH + " characters");
+            } else if (row.companyId() == null && row.company() != null
+                    && row.company().trim().length() > MAX_COMPANY_LENGTH) {
+                fail(rowNo, "company exceeds " + MAX_COMPANY_LENGTH + " characters");
+            } else {
+                chunk.add(new PendingRow(rowNo, row));
+                if (chunk.size() >= CHUNK_SIZE) flush();
+            }
+        }
+
+        void fail(int rowNo, String error) {
+            results.add(new RowResult(rowNo, Status.FAILED, null, error));
+            failed++;
+        }
+
+        JobImportReport finish() {
+            flush();
+            results.sort(Comparator.comparingInt(RowResult::row));
+            long nanos = System.nanoTime() - start;
+            int received = created + failed;
+            long rowsPerSecond = nanos == 0 ? received : received * 1_000_000_000L / nanos;
+            log.info("Job import finished: {} created, {} failed, {} rows/s", created, failed, rowsPerSecond);
+            return new JobImportReport(received, created, failed, nanos / 1_000_000, rowsPerSecond, results);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            List<PendingRow> rows = List.copyOf(chunk);
+            chunk.clear();
+            try {
+                write(rows);
+            } catch (RuntimeException e) {
+                if (rows.size() == 1) {
+                    fail(rows.get(0).rowNo(), "Row failed: " + e.getMessage());
+                    return;
+                }
+                log.warn("Job import chunk of {} rows failed, retrying row by row", rows.size(), e);
+                int rowFailures = 0;
+                for (PendingRow pending : rows) {
+                    try {
+                        write(List.of(pending));
+                    } catch (RuntimeException rowError) {
+                        fail(pending.rowNo(), "Row failed: " + rowError.getMessage());
+                        rowFailures++;
+                    }
+                }
+                if (rowFailures > 0) log.warn("{} of {} rows in the failed chunk could not be imported", rowFailures, rows.size());
+            }
+        }
+
+        // Ein Block in einer Transaktion; wirft bei Fehlern, nachdem der Firmen-Cache bereinigt ist
+        private void write(List<PendingRow> rows) {
+            createdInChunk.clear();
+            List<Job> jobs;
+            try {
+                jobs = tx.execute(status -> writeChunk(rows));
+            } catch (RuntimeException e) {
+                // Firmen aus dem zurückgerollten Block sind nicht persistiert
+                for (CompanyRef ref : createdInChunk) {
+                    companiesByName.remove(ref.name());
+                    companiesById.remove(ref.id());
+                }
+                throw e;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                PendingRow pending = rows.get(i);
+                Job job = jobs.get(i);
+                if (job == null) {
+                    fail(pending.rowNo(), "Company not found: " + pending.row().companyId());
+                    continue;
+                }
+                CompanyRef company = resolve(pending.row());
+                indexer.index(new JobIndexEntry(job.getId(), job.getTitle(),
+                        company != null ? company.name() : null, job.getTags(), job.getLocation(),
+                        job.getLatitude(), job.getLongitude()));
+                results.add(new RowResult(pending.rowNo(), Status.CREATED, job.getId(), null));
+                created++;
+            }
+        }
+
+        /**
+         * Schreibt einen Block in einer Transaktion. Liefert pro Zeile den Job oder {@code null},
+         * wenn die Zeile wegen einer unbekannten Firmen-ID übersprungen wurde.
+         */
+        private List<Job> writeChunk(List<PendingRow> rows) {
+            Set<String> names = new HashSet<>();
+            Set<Long> ids = new HashSet<>();
+            for (PendingRow pending : rows) {
+                JobImportRow row = pending.row();
+                if (row.companyId() != null) {
+                    if (!companiesById.containsKey(row.companyId())) ids.add(row.companyId());
+                } else if (row.company() != null && !row.company().isBlank()) {
+                    if (!companiesByName.containsKey(row.company().trim())) names.add(row.company().trim());
+                }
+            }
+            if (!ids.isEmpty()) {
+                companyRepo.findAllById(ids).forEach(this::remember);
+            }
+            if (!names.isEmpty()) {
+                companyRepo.findByNameIn(names).forEach(this::remember);
+                for (String name : names) {
+                    if (companiesByName.containsKey(name)) continue;
+                    Company company = new Company();
+                    company.setName(name);
+                    em.persist(company);
+                    createdInChunk.add(remember(company));
+                }
+            }
+
+            List<Job> jobs = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                JobImportRow row = pending.row();
+                CompanyRef company = resolve(row);
+                if (row.companyId() != null && company == null) {
+                    jobs.add(null);
+                    continue;
+                }
+                Job job = new Job();
+                job.setTitle(row.title());
+                job.setDescription(row.description());
+                job.setLocation(row.location());
+                job.setTags(row.tags());
+                gazetteer.geocode(job);
+                if (company != null) job.setCompany(em.getReference(Company.class, company.id()));
+                em.persist(job);
+                jobs.add(job);
+            }
+            List<Long> jobIds = new ArrayList<>(jobs.size());
+            for (Job job : jobs) if (job != null) jobIds.add(job.getId());
+            outbox.upsertedAll(jobIds);
+            // Batch absenden und den Persistence Context leeren, damit der Heap pro Block konstant bleibt
+            em.flush();
+            em.clear();
+            return jobs;
+        }
+
+        private CompanyRef resolve(JobImportRow row) {
+            if (row.companyId() != null) return companiesById.get(row.companyId());
+            if (row.company() == null || row.company().isBlank()) return null;
+            return companiesByName.get(row.company().trim());
+        }
+
+        private CompanyRef remember(Company company) {
+            CompanyRef ref = new CompanyRef(company.getId(), company.getName());
+            companiesByName.put(ref.name(), ref);
+            companiesById.put(ref.id(), ref);
+            return ref;
+        }
+    }
+}
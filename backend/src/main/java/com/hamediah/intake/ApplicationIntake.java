@@ -0,0 +1,316 @@
+package com.hamediah.intake;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hamediah.bloom.ApplicantBloomFilter;
+import com.hamediah.intake.IntakeTicket.Status;
+import com.hamediah.notification.MailOutbox;
+import com.hamediah.stats.ApplicationCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optionaler Write-Behind-Modus für Bewerbungen ({@code hamediah.applications.intake.enabled}).
+ * Geprüfte Bewerbungen landen in einer begrenzten Queue und bekommen sofort ein Ticket;
+ * ein Hintergrund-Thread schreibt sie blockweise mit einem mehrzeiligen INSERT.
+ * Ist die Queue voll, wird mit {@link IntakeFullException} abgelehnt (HTTP 429).
+ */
+@Component
+public class ApplicationIntake implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationIntake.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+    // Spaltenbreiten aus V3; zu lange Werte würden sonst erst den ganzen INSERT-Block sprengen
+    static final int MAX_NAME_LENGTH = 255;
+    static final int MAX_EMAIL_LENGTH = 255;
+    static final int MAX_RESUME_URL_LENGTH = 500;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final MailOutbox mailOutbox;
+    private final ApplicantBloomFilter applicantFilter;
+    private final ApplicationCounters counters;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration drainTimeout;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, IntakeTicket> tickets;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public ApplicationIntake(JdbcTemplate jdbc, TransactionTemplate tx, MailOutbox mailOutbox,
+                             ApplicantBloomFilter applicantFilter, ApplicationCounters counters,
+                             @Value("${hamediah.applications.intake.enabled:false}") boolean enabled,
+                             @Value("${hamediah.applications.intake.queue-capacity:10000}") int queueCapacity,
+                             @Value("${hamediah.applications.intake.batch-size:200}") int batchSize,
+                             @Value("${hamediah.applications.intake.flush-interval:50ms}") Duration flushInterval,
+                             @Value("${hamediah.applications.intake.drain-timeout:30s}") Duration drainTimeout,
+                             @Value("${hamediah.applications.intake.ticket-retention:1h}") Duration ticketRetention) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.mailOutbox = mailOutbox;
+        this.applicantFilter = applicantFilter;
+        this.counters = counters;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.drainTimeout = drainTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(queueCapacity * 10L)
+                .expireAfterWrite(ticketRetention)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Nimmt eine Bewerbung zur späteren Speicherung an.
+     *
+     * @throws IntakeFullException wenn die Queue voll ist oder der Dienst herunterfährt
+     * @throws IllegalArgumentException bei fehlenden Pflichtfeldern oder zu langen Werten
+     */
+    public IntakeTicket submit(Long jobId, String applicantName, String applicantEmail, String coverLetter, String resumeUrl) {
+        if (jobId == null || isBlank(applicantName) || isBlank(applicantEmail)) {
+            throw new IllegalArgumentException("jobId, applicantName and applicantEmail are required");
+        }
+        checkLength("applicantName", applicantName, MAX_NAME_LENGTH);
+        checkLength("applicantEmail", applicantEmail, MAX_EMAIL_LENGTH);
+        checkLength("resumeUrl", resumeUrl, MAX_RESUME_URL_LENGTH);
+        if (!accepting) throw new IntakeFullException();
+
+        IntakeTicket ticket = new IntakeTicket(UUID.randomUUID().toString(), Status.PENDING, null, LocalDateTime.now());
+        Submission submission = new Submission(ticket, jobId, applicantName, applicantEmail, coverLetter, resumeUrl);
+        tickets.put(ticket.id(), ticket);
+        if (!queue.offer(submission)) {
+            tickets.invalidate(ticket.id());
+            throw new IntakeFullException();
+        }
+        return ticket;
+    }
+
+    public Optional<IntakeTicket> status(String ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    public int capacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        accepting = true;
+        running = true;
+        writer = new Thread(this::runWriter, "application-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Application intake enabled: capacity {}, batch size {}", capacity(), batchSize);
+    }
+
+    /**
+     * Nimmt nichts mehr an und wartet, bis der Writer die Queue geleert hat (höchstens drain-timeout).
+     */
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        if (writer == null) return;
+        try {
+            writer.join(drainTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Application intake stopped with {} unsaved submissions", queue.size());
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // Vor dem DataSource-Shutdown stoppen, damit beim Drain noch geschrieben werden kann
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1000;
+    }
+
+    private void runWriter() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Schreibt den Block, bei vorübergehenden Fehlern mit Wiederholung. Scheitert er endgültig
+     * oder an einer einzelnen Zeile (Constraint), wird Zeile für Zeile geschrieben: so trifft
+     * eine fehlerhafte Einreichung nicht die übrigen Bewerber im selben Block.
+     */
+    private void writeWithRetry(List<Submission> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Writing {} application submissions violated a constraint, writing them one by one",
+                        batch.size(), e);
+                writeOneByOne(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.error("Writing {} application submissions failed after {} attempts, writing them one by one",
+                            batch.size(), attempt, e);
+                    writeOneByOne(batch);
+                    return;
+                }
+                log.warn("Writing {} application submissions failed (attempt {}), retrying", batch.size(), attempt, e);
+                Thread.sleep(100L << attempt);
+            }
+        }
+    }
+
+    private void writeOneByOne(List<Submission> batch) {
+        if (batch.size() == 1) {
+            complete(batch.get(0), Status.FAILED, null);
+            return;
+        }
+        int failed = 0;
+        for (Submission s : batch) {
+            try {
+                write(List.of(s));
+            } catch (RuntimeException e) {
+                log.debug("Application submission {} failed", s.ticket().id(), e);
+                complete(s, Status.FAILED, null);
+                failed++;
+            }
+        }
+        if (failed > 0) log.error("Dropped {} of {} application submissions", failed, batch.size());
+    }
+
+    /**
+     * Ein INSERT für den ganzen Block. Zeilen mit unbekanntem Job fallen über den JOIN heraus,
+     * Duplikate über ON CONFLICT; RETURNING zeigt, welche Zeilen tatsächlich gespeichert wurden.
+     */
+    private void write(List<Submission> batch) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO application (id, job_id, applicant_name, applicant_email, cover_letter, resume_url, created_at)"
+                        + " SELECT nextval('application_id_seq'), v.job_id, v.applicant_name, v.applicant_email,"
+                        + " v.cover_letter, v.resume_url, v.created_at FROM (VALUES ");
+        List<Object> args = new ArrayList<>(batch.size() * 6);
+        for (int i = 0; i < batch.size(); i++) {
+            Submission s = batch.get(i);
+            if (i > 0) sql.append(',');
+            sql.append("(?::bigint, ?::varchar, ?::varchar, ?::text, ?::varchar, ?::timestamptz)");
+            args.add(s.jobId());
+            args.add(s.applicantName());
+            args.add(s.applicantEmail());
+            args.add(s.coverLetter());
+            args.add(s.resumeUrl());
+            args.add(Timestamp.valueOf(s.ticket().acceptedAt()));
+        }
+        sql.append(") AS v(job_id, applicant_name, applicant_email, cover_letter, resume_url, created_at)"
+                + " JOIN job j ON j.id = v.job_id AND NOT j.archived"
+                + " ON CONFLICT (job_id, applicant_email) DO NOTHING"
+                + " RETURNING id, job_id, applicant_email");
+
+        // Mit den Benachrichtigungen in einer Transaktion, siehe MailOutbox
+        Map<String, Long> inserted = new HashMap<>();
+        tx.executeWithoutResult(status -> {
+            jdbc.query(sql.toString(), rs -> {
+                inserted.put(key(rs.getLong("job_id"), rs.getString("applicant_email")), rs.getLong("id"));
+            }, args.toArray());
+            mailOutbox.applicationsReceived(inserted.values());
+        });
+
+        Set<Long> missingJobs = new HashSet<>();
+        for (Submission s : batch) {
+            if (!inserted.containsKey(key(s.jobId(), s.applicantEmail()))) missingJobs.add(s.jobId());
+        }
+        if (!missingJobs.isEmpty()) {
+            missingJobs.removeAll(jdbc.queryForList(
+                    "SELECT id FROM job WHERE id = ANY (?) AND NOT archived", Long.class, (Object) missingJobs.toArray(new Long[0])));
+        }
+
+        for (Submission s : batch) {
+            // remove(): bei Duplikaten im selben Block bekommt nur die erste Einreichung die ID
+            Long id = inserted.remove(key(s.jobId(), s.applicantEmail()));
+            if (id != null) {
+                applicantFilter.add(s.jobId(), s.applicantEmail());
+                counters.applied(s.jobId());
+                complete(s, Status.PERSISTED, id);
+            } else if (missingJobs.contains(s.jobId())) {
+                complete(s, Status.JOB_NOT_FOUND, null);
+            } else {
+                complete(s, Status.DUPLICATE, null);
+            }
+        }
+    }
+
+    private void complete(Submission s, Status status, Long applicationId) {
+        tickets.put(s.ticket().id(), s.ticket().withResult(status, applicationId));
+    }
+
+    private static String key(Long jobId, String email) {
+        return jobId + "\u0000" + email;
+    }
+
+    private static void checkLength(String field, String value, int max) {
+        if (value != null && value.length() > max) {
+            throw new IllegalArgumentException(field + " exceeds " + max + " characters");
+        }
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private record Submission(IntakeTicket ticket, Long jobId, String applicantName, String applicantEmail,
+                              String coverLetter, String resumeUrl) {
+    }
+}
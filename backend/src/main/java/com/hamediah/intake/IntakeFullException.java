@@ -0,0 +1,10 @@
+package com.hamediah.intake;
+
+/**
+ * Die Intake-Queue ist voll (Back-Pressure); der Client soll es später erneut versuchen.
+ */
+public class IntakeFullException extends RuntimeException {
+    public IntakeFullException() {
+        super("Application intake queue is full");
+    }
+}
@@ -0,0 +1,16 @@
+package com.hamediah.intake;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status einer über die Intake-Queue angenommenen Bewerbung.
+ * {@code applicationId} ist erst ab {@link Status#PERSISTED} gesetzt.
+ */
+public record IntakeTicket(String id, Status status, Long applicationId, LocalDateTime acceptedAt) {
+
+    public enum Status { PENDING, PERSISTED, DUPLICATE, JOB_NOT_FOUND, FAILED }
+
+    IntakeTicket withResult(Status status, Long applicationId) {
+        return new IntakeTicket(id, status, applicationId, acceptedAt);
+    }
+}
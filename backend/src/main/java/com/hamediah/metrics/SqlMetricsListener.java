@@ -0,0 +1,92 @@
+package com.hamediah.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst jedes JDBC-Statement ({@code hamediah.sql.statements}, nach Art und Erfolg getaggt),
+ * zählt es für den laufenden Request und schreibt Statements über der Schwelle in das
+ * Slow-Query-Log. Geloggt werden SQL, Dauer und die Form der Parameter (Typen, Batchgröße),
+ * nie die Werte selbst.
+ */
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("com.hamediah.sql.slow");
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final long thresholdMs;
+
+    public SqlMetricsListener(ObjectProvider<MeterRegistry> registry, Duration threshold) {
+        this.registry = registry;
+        this.thresholdMs = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats.add(queryInfoList.size());
+        long elapsed = execInfo.getElapsedTime();
+
+        // Registry erst bei Bedarf auflösen: der DataSource-Proxy entsteht vor den Metrik-Beans
+        MeterRegistry meters = registry.getIfAvailable();
+        if (meters != null) {
+            Timer.builder("hamediah.sql.statements")
+                    .description("JDBC statement execution time")
+                    .tag("type", type(queryInfoList))
+                    .tag("batch", Boolean.toString(execInfo.isBatch()))
+                    .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(meters)
+                    .record(elapsed, TimeUnit.MILLISECONDS);
+        }
+
+        if (elapsed >= thresholdMs && slowLog.isWarnEnabled()) {
+            for (QueryInfo query : queryInfoList) {
+                slowLog.warn("Slow query: {} ms, params {}: {}", elapsed, shape(query), query.getQuery());
+            }
+        }
+    }
+
+    private static String type(List<QueryInfo> queries) {
+        if (queries.isEmpty()) return "other";
+        String sql = queries.get(0).getQuery().stripLeading();
+        int end = 0;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) end++;
+        String verb = sql.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (verb) {
+            case "select", "insert", "update", "delete", "with" -> verb;
+            default -> "other";
+        };
+    }
+
+    // z. B. "(Long, String, Null) x50" für einen Batch aus 50 Parametersätzen
+    private static String shape(QueryInfo query) {
+        List<List<ParameterSetOperation>> sets = query.getParametersList();
+        if (sets.isEmpty()) return "()";
+        StringBuilder shape = new StringBuilder("(");
+        List<ParameterSetOperation> first = sets.get(0);
+        for (int i = 0; i < first.size(); i++) {
+            if (i > 0) shape.append(", ");
+            String method = first.get(i).getMethod().getName();
+            shape.append(method.startsWith("set") ? method.substring(3) : method);
+        }
+        shape.append(')');
+        if (sets.size() > 1) shape.append(" x").append(sets.size());
+        return shape.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.hamediah.metrics;
+
+/**
+ * Zählt die SQL-Statements des aktuellen Requests (pro Thread). {@link SqlStatementsFilter}
+ * öffnet und schließt die Zählung, {@link SqlMetricsListener} erhöht sie.
+ */
+final class SqlRequestStats {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlRequestStats() {
+    }
+
+    static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    static void add(int statements) {
+        int[] count = COUNT.get();
+        if (count != null) count[0] += statements;
+    }
+
+    /** Beendet die Zählung und liefert die Anzahl der Statements seit {@link #begin()}. */
+    static int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,47 @@
+package com.hamediah.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Veröffentlicht die Anzahl der SQL-Statements pro Request als {@code hamediah.sql.statements.per.request}
+ * (getaggt mit Methode und URI-Muster). Statements aus asynchron gestreamten Antworten laufen auf
+ * anderen Threads und werden nicht mitgezählt.
+ */
+@Component
+public class SqlStatementsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public SqlStatementsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = SqlRequestStats.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("hamediah.sql.statements.per.request")
+                    .description("JDBC statements issued while handling one request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.hamediah.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Minimaler SMTP-Server im selben Prozess für Entwicklung und Lasttests
+ * ({@code hamediah.mail.local-smtp.enabled}): lauscht nur auf localhost unter
+ * {@code spring.mail.port}, nimmt jede Mail an, loggt sie und behält die letzten
+ * {@value #KEEP} unter {@link #received()}. Mit {@code latency} antwortet er nach DATA
+ * verzögert, um langsame Server nachzustellen. Kein TLS, keine Authentifizierung.
+ */
+@Component
+@ConditionalOnProperty(name = "hamediah.mail.local-smtp.enabled", havingValue = "true")
+public class LocalSmtpServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalSmtpServer.class);
+
+    private static final int KEEP = 100;
+
+    public record Mail(String from, List<String> to, String data, Instant receivedAt) {
+    }
+
+    private final int port;
+    private final Duration latency;
+    private final Deque<Mail> received = new ArrayDeque<>();
+    private volatile ServerSocket server;
+
+    public LocalSmtpServer(@Value("${spring.mail.port:2525}") int port,
+                           @Value("${hamediah.mail.local-smtp.latency:0ms}") Duration latency) {
+        this.port = port;
+        this.latency = latency;
+    }
+
+    /** Die zuletzt angenommenen Mails, älteste zuerst. */
+    public synchronized List<Mail> received() {
+        return List.copyOf(received);
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new IllegalStateException("Local SMTP server cannot listen on port " + port, e);
+        }
+        Thread acceptor = new Thread(this::accept, "local-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Local SMTP server listening on localhost:{}", port);
+    }
+
+    @Override
+    public void stop() {
+        ServerSocket s = server;
+        server = null;
+        if (s == null) return;
+        try {
+            s.close();
+        } catch (IOException ignored) {
+            // beim Herunterfahren egal
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    private void accept() {
+        ServerSocket s;
+        while ((s = server) != null) {
+            try {
+                Socket client = s.accept();
+                Thread session = new Thread(() -> session(client), "local-smtp-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                if (server != null) log.warn("Local SMTP server accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void session(Socket client) {
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8)) {
+            reply(out, "220 localhost hamediah local SMTP");
+            String from = null;
+            List<String> to = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL" -> {
+                        from = address(line);
+                        to.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        to.add(address(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String data = readData(in);
+                        if (!latency.isZero()) Thread.sleep(latency.toMillis());
+                        store(new Mail(from, List.copyOf(to), data, Instant.now()));
+                        from = null;
+                        to.clear();
+                        reply(out, "250 OK queued");
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        to.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (SocketException e) {
+            // Client hat die Verbindung getrennt
+        } catch (IOException e) {
+            log.debug("Local SMTP session failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Bis zur Zeile "."; führende Punkte sind verdoppelt (Dot-Stuffing)
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private synchronized void store(Mail mail) {
+        if (received.size() == KEEP) received.removeFirst();
+        received.addLast(mail);
+        log.info("Local SMTP received mail from {} to {}: {}", mail.from(), mail.to(), header(mail.data(), "Subject"));
+        log.debug("Local SMTP mail content:\n{}", mail.data());
+    }
+
+    private static String header(String data, String name) {
+        String prefix = name + ": ";
+        for (String line : data.split("\r\n")) {
+            if (line.isEmpty()) break;
+            if (line.regionMatches(true, 0, prefix, 0, prefix.length())) return line.substring(prefix.length());
+        }
+        return null;
+    }
+
+    // "MAIL FROM:<a@b>" bzw. "RCPT TO:<a@b> ..." -> a@b
+    private static String address(String line) {
+        int open = line.indexOf('<');
+        int close = line.indexOf('>', open + 1);
+        return open >= 0 && close > open ? line.substring(open + 1, close) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write("\r\n");
+        out.flush();
+    }
+}
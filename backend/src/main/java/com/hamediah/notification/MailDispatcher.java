@@ -0,0 +1,342 @@
+package com.hamediah.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Versendet die {@code mail_outbox} (siehe {@link MailOutbox}) als Digest: alle offenen Zeilen
+ * eines Empfängers werden zu einer Mail zusammengefasst, sobald die erste davon fällig ist.
+ * <p>
+ * Ein Lauf vergibt die Zeilen von bis zu {@code max-recipients} Empfängern in einem Statement
+ * ({@code FOR UPDATE SKIP LOCKED}) und markiert sie bis {@code lease} als {@code SENDING};
+ * bricht eine Instanz mittendrin ab, werden sie danach erneut vergeben. Gesendet wird parallel
+ * mit höchstens {@code max-concurrent-sends} Threads über wiederverwendete SMTP-Verbindungen.
+ * Nach dem Versand werden die Zeilen gelöscht, bei Fehlern mit exponentiellem Backoff erneut
+ * eingeplant und nach {@code max-attempts} (oder bei ungültiger Adresse sofort) als
+ * {@code FAILED} liegen gelassen.
+ * <p>
+ * Die Läufe kommen von einem eigenen Thread ({@code mail-dispatch}, alle {@code poll-interval-ms}),
+ * nicht vom Spring-Scheduler: ein langsamer SMTP-Server hält damit keine anderen Aufgaben auf,
+ * und ein Lauf arbeitet den Rückstau ohne Rundenlimit ab.
+ */
+@Component
+@ConditionalOnProperty(name = "hamediah.mail.enabled", havingValue = "true")
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // Fällige Empfänger wählen, dann alle ihre freien Zeilen vergeben: PENDING (auch noch nicht
+    // fällige, die kommen mit in den Digest) und SENDING mit abgelaufenem Lease
+    private static final String CLAIM = "WITH due AS ("
+            + " SELECT DISTINCT recipient FROM mail_outbox"
+            + " WHERE status <> 'FAILED' AND next_attempt_at <= NOW() LIMIT ?),"
+            + " claimed AS ("
+            + " UPDATE mail_outbox m SET status = 'SENDING', attempts = m.attempts + 1,"
+            + " next_attempt_at = NOW() + make_interval(secs => ?)"
+            + " WHERE m.id IN (SELECT o.id FROM mail_outbox o JOIN due d ON d.recipient = o.recipient"
+            + " WHERE o.status = 'PENDING' OR (o.status = 'SENDING' AND o.next_attempt_at <= NOW())"
+            + " ORDER BY o.id LIMIT ? FOR UPDATE OF o SKIP LOCKED)"
+            + " RETURNING m.id, m.recipient, m.application_id, m.job_id, m.attempts)"
+            + " SELECT c.id, c.recipient, c.job_id, j.title, a.id AS application_id, a.applicant_name, a.applicant_email"
+            + " FROM claimed c LEFT JOIN application a ON a.id = c.application_id LEFT JOIN job j ON j.id = c.job_id"
+            + " ORDER BY c.recipient, c.job_id, c.id";
+
+    private static final String RESCHEDULE = "UPDATE mail_outbox SET"
+            + " status = CASE WHEN ? OR attempts >= ? THEN 'FAILED' ELSE 'PENDING' END,"
+            + " next_attempt_at = NOW() + make_interval(secs => LEAST(?, ? * power(2, attempts - 1))),"
+            + " last_error = ?"
+            + " WHERE id = ANY (?) RETURNING status";
+
+    private static final String STATS = "SELECT COUNT(*) FILTER (WHERE status <> 'FAILED') AS pending,"
+            + " COUNT(*) FILTER (WHERE status = 'FAILED') AS failed,"
+            + " EXTRACT(EPOCH FROM NOW() - MIN(created_at) FILTER (WHERE status <> 'FAILED')) AS oldest"
+            + " FROM mail_outbox";
+
+    private record Row(long id, String recipient, long jobId, String title, Long applicationId,
+                       String applicantName, String applicantEmail) {
+    }
+
+    private record Digest(String recipient, List<Row> rows) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final JavaMailSenderImpl sender;
+    private final SmtpTransportPool pool;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService dispatcher;
+    private final MeterRegistry registry;
+    private final Timer sent;
+    private final Timer sendFailed;
+    private final String from;
+    private final String baseUrl;
+    private final int maxRecipients;
+    private final int batchSize;
+    private final int maxPerDigest;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    // Stand der Tabelle, einmal pro Lauf gelesen
+    private volatile long pending;
+    private volatile long failed;
+    private volatile double oldestSeconds;
+
+    public MailDispatcher(JdbcTemplate jdbc, JavaMailSenderImpl sender, MeterRegistry registry,
+                          @Value("${hamediah.mail.from:no-reply@hamediah.aljwaed.de}") String from,
+                          @Value("${hamediah.mail.base-url:https://hamediah.aljwaed.de}") String baseUrl,
+                          @Value("${hamediah.mail.max-recipients:50}") int maxRecipients,
+                          @Value("${hamediah.mail.batch-size:1000}") int batchSize,
+                          @Value("${hamediah.mail.max-per-digest:50}") int maxPerDigest,
+                          @Value("${hamediah.mail.max-concurrent-sends:4}") int maxConcurrentSends,
+                          @Value("${hamediah.mail.max-attempts:8}") int maxAttempts,
+                          @Value("${hamediah.mail.initial-backoff:30s}") Duration initialBackoff,
+                          @Value("${hamediah.mail.max-backoff:1h}") Duration maxBackoff,
+                          @Value("${hamediah.mail.lease:2m}") Duration lease,
+                          @Value("${hamediah.mail.connection-max-idle:60s}") Duration connectionMaxIdle,
+                          @Value("${hamediah.mail.poll-interval-ms:5000}") long pollIntervalMs) {
+        this.jdbc = jdbc;
+        this.sender = sender;
+        this.pool = new SmtpTransportPool(sender, connectionMaxIdle.toMillis(), TimeUnit.MILLISECONDS);
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(maxConcurrentSends, r -> {
+            Thread t = new Thread(r, "mail-sender-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.registry = registry;
+        this.sent = sendTimer(registry, "success");
+        this.sendFailed = sendTimer(registry, "failure");
+        this.from = from;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.maxRecipients = maxRecipients;
+        this.batchSize = batchSize;
+        this.maxPerDigest = maxPerDigest;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+
+        Gauge.builder("hamediah.mail.outbox.pending", this, d -> d.pending)
+                .description("Offene Benachrichtigungen in mail_outbox")
+                .register(registry);
+        Gauge.builder("hamediah.mail.outbox.failed", this, d -> d.failed)
+                .description("Aufgegebene Benachrichtigungen in mail_outbox")
+                .register(registry);
+        TimeGauge.builder("hamediah.mail.outbox.oldest", this, TimeUnit.SECONDS, d -> d.oldestSeconds)
+                .description("Alter der ältesten offenen Benachrichtigung")
+                .register(registry);
+
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mail-dispatch");
+            t.setDaemon(true);
+            return t;
+        });
+        dispatcher.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static Timer sendTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("hamediah.mail.send")
+                .description("Dauer eines Digest-Versands per SMTP")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Digest> digests = claim();
+                if (digests.isEmpty()) break;
+                sendAll(digests);
+                if (digests.size() < maxRecipients) break;
+            }
+            pool.evictIdle();
+        } catch (RuntimeException e) {
+            log.warn("Mail dispatch failed, retrying on next run: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            refreshStats();
+        }
+    }
+
+    private List<Digest> claim() {
+        Map<String, List<Row>> byRecipient = new LinkedHashMap<>();
+        jdbc.query(CLAIM, rs -> {
+            Row row = new Row(rs.getLong("id"), rs.getString("recipient"), rs.getLong("job_id"), rs.getString("title"),
+                    rs.getObject("application_id", Long.class), rs.getString("applicant_name"), rs.getString("applicant_email"));
+            byRecipient.computeIfAbsent(row.recipient(), r -> new ArrayList<>()).add(row);
+        }, maxRecipients, lease.toSeconds(), batchSize);
+
+        List<Digest> digests = new ArrayList<>(byRecipient.size());
+        List<Long> orphaned = new ArrayList<>();
+        byRecipient.forEach((recipient, rows) -> {
+            List<Row> live = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                // Bewerbung oder Job inzwischen gelöscht: nichts mehr zu melden
+                if (row.applicationId() == null || row.title() == null) orphaned.add(row.id());
+                else live.add(row);
+            }
+            if (!live.isEmpty()) digests.add(new Digest(recipient, live));
+        });
+        if (!orphaned.isEmpty()) {
+            delete(orphaned);
+            notifications("dropped", orphaned.size());
+        }
+        return digests;
+    }
+
+    private void sendAll(List<Digest> digests) throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>(digests.size());
+        for (Digest digest : digests) {
+            tasks.add(() -> {
+                send(digest);
+                return null;
+            });
+        }
+        senders.invokeAll(tasks);
+    }
+
+    private void send(Digest digest) {
+        List<Long> ids = digest.rows().stream().map(Row::id).toList();
+        long start = System.nanoTime();
+        try {
+            pool.send(message(digest));
+            sent.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            delete(ids);
+            notifications("sent", ids.size());
+        } catch (MessagingException | RuntimeException e) {
+            sendFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            reschedule(digest, ids, e);
+        }
+    }
+
+    private void reschedule(Digest digest, List<Long> ids, Exception e) {
+        boolean permanent = isPermanent(e);
+        String error = String.valueOf(e.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) error = error.substring(0, MAX_ERROR_LENGTH);
+        try {
+            List<String> states = jdbc.queryForList(RESCHEDULE, String.class, permanent, maxAttempts,
+                    maxBackoff.toSeconds(), initialBackoff.toSeconds(), error, ids.toArray(new Long[0]));
+            long gaveUp = states.stream().filter("FAILED"::equals).count();
+            if (gaveUp > 0) {
+                notifications("failed", gaveUp);
+                log.warn("Giving up on {} notifications for {}: {}", gaveUp, digest.recipient(), error);
+            }
+            if (gaveUp < states.size()) {
+                notifications("retried", states.size() - gaveUp);
+                log.info("Sending digest to {} failed, retrying later: {}", digest.recipient(), error);
+            }
+        } catch (RuntimeException dbError) {
+            // Zeilen bleiben SENDING und werden nach Ablauf des Leases erneut vergeben
+            log.warn("Could not reschedule notifications for {}: {}", digest.recipient(), dbError.getMessage());
+        }
+    }
+
+    // Ungültige Adressen werden durch Wiederholen nicht besser
+    private static boolean isPermanent(Exception e) {
+        if (e instanceof AddressException) return true;
+        if (e instanceof SendFailedException sfe) {
+            return sfe.getInvalidAddresses() != null && sfe.getInvalidAddresses().length > 0;
+        }
+        return false;
+    }
+
+    private MimeMessage message(Digest digest) throws MessagingException {
+        List<Row> rows = digest.rows();
+        String subject = rows.size() == 1
+                ? "New application for " + rows.get(0).title()
+                : rows.size() + " new applications for your job postings";
+
+        StringBuilder body = new StringBuilder();
+        body.append(rows.size() == 1 ? "You have received a new application." : "You have received " + rows.size() + " new applications.");
+        body.append("\n");
+        // Zeilen kommen nach Job sortiert aus CLAIM
+        Long currentJob = null;
+        int listed = Math.min(rows.size(), maxPerDigest);
+        for (Row row : rows.subList(0, listed)) {
+            if (!Long.valueOf(row.jobId()).equals(currentJob)) {
+                currentJob = row.jobId();
+                body.append("\n").append(row.title()).append("\n")
+                        .append(baseUrl).append("/jobs/").append(row.jobId()).append("\n");
+            }
+            body.append("  - ").append(row.applicantName()).append(" <").append(row.applicantEmail()).append(">\n");
+        }
+        if (listed < rows.size()) {
+            body.append("\n...and ").append(rows.size() - listed).append(" more.\n");
+        }
+
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(digest.recipient());
+        helper.setSubject(subject);
+        helper.setText(body.toString());
+        return message;
+    }
+
+    private void delete(List<Long> ids) {
+        jdbc.update("DELETE FROM mail_outbox WHERE id = ANY (?)", (Object) ids.toArray(new Long[0]));
+    }
+
+    private void notifications(String outcome, long count) {
+        Counter.builder("hamediah.mail.notifications")
+                .description("Benachrichtigungen nach Ergebnis (sent, retried, failed, dropped, skipped)")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment(count);
+    }
+
+    private void refreshStats() {
+        try {
+            jdbc.query(STATS, rs -> {
+                pending = rs.getLong("pending");
+                failed = rs.getLong("failed");
+                double oldest = rs.getDouble("oldest");
+                oldestSeconds = rs.wasNull() ? 0 : oldest;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Could not read mail outbox stats: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(30, TimeUnit.SECONDS);
+        senders.shutdown();
+        senders.awaitTermination(30, TimeUnit.SECONDS);
+        pool.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.hamediah.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Merkt neue Bewerbungen für die Benachrichtigung des Arbeitgebers vor ({@code mail_outbox}, V12).
+ * Muss in der Transaktion der Bewerbung aufgerufen werden (MANDATORY): beides committet oder
+ * scheitert gemeinsam, und kein SMTP-Server verlängert den Request. Den Versand übernimmt
+ * {@link MailDispatcher}. Ohne {@code hamediah.mail.enabled} wird nichts geschrieben,
+ * Bewerbungen ohne Empfänger zählt {@code hamediah.mail.notifications{outcome=skipped}}.
+ */
+@Component
+public class MailOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutbox.class);
+
+    // Empfänger schon beim Einreihen auflösen, damit der Dispatcher pro Empfänger bündeln kann:
+    // Kontaktadresse der Firma (CompanyService), sonst der Ersteller des Jobs (nur Seed-Daten).
+    // Ohne Empfänger keine Zeile; die Anzahl kommt zurück und wird als "skipped" gezählt
+    private static final String ENQUEUE = "WITH resolved AS ("
+            + " SELECT COALESCE(c.contact_email, u.email) AS recipient, a.id, a.job_id"
+            + " FROM application a JOIN job j ON j.id = a.job_id"
+            + " LEFT JOIN company c ON c.id = j.company_id LEFT JOIN app_user u ON u.id = j.created_by"
+            + " WHERE a.id = ANY (?)),"
+            + " queued AS (INSERT INTO mail_outbox (recipient, application_id, job_id, next_attempt_at)"
+            + " SELECT recipient, id, job_id, NOW() + make_interval(secs => ?) FROM resolved WHERE recipient IS NOT NULL)"
+            + " SELECT COUNT(*) FILTER (WHERE recipient IS NULL) FROM resolved";
+
+    private final JdbcTemplate jdbc;
+    private final Counter skipped;
+    private final boolean enabled;
+    private final Duration digestDelay;
+
+    public MailOutbox(JdbcTemplate jdbc, MeterRegistry registry,
+                      @Value("${hamediah.mail.enabled:false}") boolean enabled,
+                      @Value("${hamediah.mail.digest-delay:10m}") Duration digestDelay) {
+        this.jdbc = jdbc;
+        this.skipped = Counter.builder("hamediah.mail.notifications")
+                .description("Benachrichtigungen nach Ergebnis (sent, retried, failed, dropped, skipped)")
+                .tag("outcome", "skipped")
+                .register(registry);
+        this.enabled = enabled;
+        this.digestDelay = digestDelay;
+    }
+
+    /**
+     * Eine Zeile pro Bewerbung; fällig erst nach {@code digest-delay}, damit weitere Bewerbungen
+     * für denselben Empfänger in dieselbe Mail kommen.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applicationsReceived(Collection<Long> applicationIds) {
+        if (!enabled || applicationIds.isEmpty()) return;
+        Long withoutRecipient = jdbc.queryForObject(ENQUEUE, Long.class,
+                applicationIds.toArray(new Long[0]), digestDelay.toSeconds());
+        if (withoutRecipient != null && withoutRecipient > 0) {
+            skipped.increment(withoutRecipient);
+            log.debug("{} of {} applications have no recipient (company without contact email)",
+                    withoutRecipient, applicationIds.size());
+        }
+    }
+}
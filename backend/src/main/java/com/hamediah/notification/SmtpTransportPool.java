@@ -0,0 +1,84 @@
+package com.hamediah.notification;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offene SMTP-Verbindungen zur Wiederverwendung. {@link JavaMailSenderImpl} baut pro Versand
+ * eine neue Verbindung auf (TCP, EHLO, STARTTLS, AUTH); hier bleibt sie nach dem Senden offen.
+ * Die Anzahl gleichzeitiger Verbindungen begrenzt der Aufrufer über seine Threads, der Pool hält
+ * höchstens so viele, wie gleichzeitig benutzt wurden. Verbindungen, die länger als
+ * {@code maxIdle} ungenutzt waren, werden geschlossen, bevor der Server sie kappt.
+ */
+final class SmtpTransportPool implements AutoCloseable {
+
+    private record Idle(Transport transport, long since) {
+    }
+
+    private final JavaMailSenderImpl sender;
+    private final long maxIdleNanos;
+    // LIFO: die zuletzt benutzte Verbindung zuerst, ältere laufen aus
+    private final Deque<Idle> idle = new ConcurrentLinkedDeque<>();
+
+    SmtpTransportPool(JavaMailSenderImpl sender, long maxIdle, TimeUnit unit) {
+        this.sender = sender;
+        this.maxIdleNanos = unit.toNanos(maxIdle);
+    }
+
+    /**
+     * Sendet über eine freie Verbindung. Nach einem Fehler wird die Verbindung verworfen, sie
+     * kann mitten in einer SMTP-Transaktion stehen.
+     */
+    void send(MimeMessage message) throws MessagingException {
+        Transport transport = borrow();
+        boolean reusable = false;
+        try {
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            reusable = true;
+        } finally {
+            if (reusable) idle.push(new Idle(transport, System.nanoTime()));
+            else closeQuietly(transport);
+        }
+    }
+
+    /** Schließt Verbindungen, die länger als {@code maxIdle} ungenutzt sind. */
+    void evictIdle() {
+        long now = System.nanoTime();
+        for (Idle i : idle) {
+            if (now - i.since() > maxIdleNanos && idle.remove(i)) closeQuietly(i.transport());
+        }
+    }
+
+    @Override
+    public void close() {
+        Idle i;
+        while ((i = idle.poll()) != null) closeQuietly(i.transport());
+    }
+
+    private Transport borrow() throws MessagingException {
+        Idle i;
+        while ((i = idle.poll()) != null) {
+            // isConnected() schickt ein NOOP und erkennt so vom Server geschlossene Verbindungen
+            if (System.nanoTime() - i.since() <= maxIdleNanos && i.transport().isConnected()) return i.transport();
+            closeQuietly(i.transport());
+        }
+        Transport transport = sender.getSession().getTransport(sender.getProtocol());
+        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException ignored) {
+            // Verbindung ist ohnehin nicht mehr brauchbar
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.hamediah.opensearch;
+
+import com.hamediah.domain.Job;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dokument im OpenSearch-Index {@code jobs}, passend zu ops/opensearch/jobs-index.json.
+ */
+public record JobDocument(
+        String id,
+        String title,
+        String company,
+        String location,
+        List<String> tags,
+        String description,
+        LocalDateTime createdAt) {
+
+    public static JobDocument from(Job job) {
+        List<String> tags = job.getTags() == null ? List.of() : Arrays.stream(job.getTags().split(","))
+                .map(String::trim)
+                .filter(t -> !t.isEmpty())
+                .toList();
+        return new JobDocument(
+                String.valueOf(job.getId()),
+                job.getTitle(),
+                job.getCompany() != null ? job.getCompany().getName() : null,
+                job.getLocation(),
+                tags,
+                job.getDescription(),
+                job.getCreatedAt());
+    }
+}
@@ -0,0 +1,55 @@
+package com.hamediah.opensearch;
+
+import com.hamediah.domain.JobOutboxEvent;
+import com.hamediah.domain.JobOutboxEvent.Operation;
+import com.hamediah.repository.JobOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Schreibt Job-Änderungen in die Outbox-Tabelle. Muss innerhalb der Transaktion der
+ * eigentlichen Änderung aufgerufen werden (MANDATORY), damit beides gemeinsam committet
+ * oder zurückgerollt wird. Ohne aktivierte OpenSearch-Anbindung wird nichts geschrieben.
+ */
+@Component
+public class JobOutbox {
+
+    private final JobOutboxRepository repo;
+    private final boolean enabled;
+
+    public JobOutbox(JobOutboxRepository repo, @Value("${hamediah.opensearch.enabled:false}") boolean enabled) {
+        this.repo = repo;
+        this.enabled = enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void upserted(Long jobId) {
+        if (enabled) repo.save(event(jobId, Operation.UPSERT));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void upsertedAll(Collection<Long> jobIds) {
+        if (!enabled || jobIds.isEmpty()) return;
+        List<JobOutboxEvent> events = new ArrayList<>(jobIds.size());
+        for (Long id : jobIds) events.add(event(id, Operation.UPSERT));
+        repo.saveAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Long jobId) {
+        if (enabled) repo.save(event(jobId, Operation.DELETE));
+    }
+
+    private static JobOutboxEvent event(Long jobId, Operation operation) {
+        JobOutboxEvent e = new JobOutboxEvent();
+        e.setJobId(jobId);
+        e.setOperation(operation);
+        return e;
+    }
+}
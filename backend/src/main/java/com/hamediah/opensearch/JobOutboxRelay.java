@@ -0,0 +1,136 @@
+package com.hamediah.opensearch;
+
+import com.hamediah.domain.Job;
+import com.hamediah.domain.JobOutboxEvent.Operation;
+import com.hamediah.repository.JobOutboxRepository;
+import com.hamediah.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Überträgt die Job-Outbox in Blöcken per {@code _bulk} an OpenSearch. Mehrere Ereignisse
+ * zum selben Job werden zusammengefasst (das letzte gewinnt); die Zeilen werden erst nach
+ * erfolgreichem Bulk-Request gelöscht, bei Fehlern bleibt alles für den nächsten Lauf liegen.
+ * <p>
+ * Ablauf pro Block: Zeilen per Lease vergeben ({@code claimed_until}, kurzes Statement mit
+ * {@code FOR UPDATE SKIP LOCKED}), Jobs laden, Bulk-Request ohne offene Transaktion und ohne
+ * gehaltene Verbindung senden, dann löschen. Stirbt die Instanz dazwischen, werden die Zeilen
+ * nach Ablauf von {@code lease} erneut vergeben.
+ */
+@Component
+@ConditionalOnProperty(name = "hamediah.opensearch.enabled", havingValue = "true")
+public class JobOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(JobOutboxRelay.class);
+
+    // Begrenzung pro Lauf, damit ein großer Rückstau andere Scheduler-Aufgaben nicht blockiert
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    // SKIP LOCKED: mehrere Instanzen können parallel vergeben, ohne dieselben Zeilen zu sehen
+    private static final String CLAIM = "UPDATE job_outbox SET claimed_until = NOW() + make_interval(secs => ?)"
+            + " WHERE id IN (SELECT id FROM job_outbox WHERE claimed_until IS NULL OR claimed_until <= NOW()"
+            + " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)"
+            + " RETURNING id, job_id, operation";
+
+    private record Event(long id, long jobId, Operation operation) {
+    }
+
+    private final JobOutboxRepository outboxRepo;
+    private final JobRepository jobRepo;
+    private final OpenSearchBulkClient client;
+    private final TransactionTemplate tx;
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+    private final Duration lease;
+
+    public JobOutboxRelay(JobOutboxRepository outboxRepo, JobRepository jobRepo, OpenSearchBulkClient client,
+                          TransactionTemplate tx, JdbcTemplate jdbc,
+                          @Value("${hamediah.opensearch.batch-size:500}") int batchSize,
+                          @Value("${hamediah.opensearch.lease:2m}") Duration lease) {
+        this.outboxRepo = outboxRepo;
+        this.jobRepo = jobRepo;
+        this.client = client;
+        this.tx = tx;
+        this.jdbc = jdbc;
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${hamediah.opensearch.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (relayBatch() < batchSize) return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("OpenSearch outbox relay failed, retrying on next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return Anzahl der verarbeiteten Outbox-Zeilen
+     */
+    private int relayBatch() {
+        List<Event> events = new ArrayList<>(jdbc.query(CLAIM, (rs, i) -> new Event(rs.getLong("id"),
+                rs.getLong("job_id"), Operation.valueOf(rs.getString("operation"))), lease.toSeconds(), batchSize));
+        if (events.isEmpty()) return 0;
+        // RETURNING liefert keine feste Reihenfolge
+        events.sort(Comparator.comparingLong(Event::id));
+        List<Long> ids = events.stream().map(Event::id).toList();
+
+        try {
+            List<OpenSearchBulkClient.Action> actions = tx.execute(status -> actions(events));
+            client.bulk(actions);
+        } catch (RuntimeException e) {
+            // Sofort wieder freigeben statt auf das Lease zu warten
+            release(ids);
+            throw e;
+        }
+        tx.executeWithoutResult(status -> outboxRepo.deleteByIdIn(ids));
+        return events.size();
+    }
+
+    private List<OpenSearchBulkClient.Action> actions(List<Event> events) {
+        // Pro Job zählt nur das letzte Ereignis
+        Map<Long, Operation> latest = new LinkedHashMap<>();
+        for (Event e : events) latest.put(e.jobId(), e.operation());
+
+        List<Long> upserts = latest.entrySet().stream()
+                .filter(e -> e.getValue() == Operation.UPSERT)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<Long, Job> jobs = upserts.isEmpty() ? Map.of() : jobRepo.findWithCompanyByIdIn(upserts).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        List<OpenSearchBulkClient.Action> actions = new ArrayList<>(latest.size());
+        latest.forEach((jobId, op) -> {
+            Job job = op == Operation.UPSERT ? jobs.get(jobId) : null;
+            // Inzwischen gelöschte Jobs werden auch im Index entfernt
+            actions.add(new OpenSearchBulkClient.Action(String.valueOf(jobId), job != null ? JobDocument.from(job) : null));
+        });
+        return actions;
+    }
+
+    private void release(List<Long> ids) {
+        try {
+            jdbc.update("UPDATE job_outbox SET claimed_until = NULL WHERE id = ANY (?)", (Object) ids.toArray(new Long[0]));
+        } catch (RuntimeException e) {
+            log.debug("Could not release outbox rows, they are retried after the lease: {}", e.getMessage());
+        }
+    }
+}
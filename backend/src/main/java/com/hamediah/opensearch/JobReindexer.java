@@ -0,0 +1,80 @@
+package com.hamediah.opensearch;
+
+import com.hamediah.domain.Job;
+import com.hamediah.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vollständiger Reindex: liest die Tabelle {@code job} in Blöcken (Keyset über die ID, je eine
+ * kurze Read-only-Transaktion) und schreibt jeden Block per Bulk in den Index. Der Bulk-Aufruf
+ * läuft außerhalb der Transaktion, damit keine Verbindung aus dem Pool für die Dauer der
+ * HTTP-Aufrufe belegt ist. Start über das Kommandozeilen-Argument {@code --reindex}.
+ */
+@Component
+@ConditionalOnProperty(name = "hamediah.opensearch.enabled", havingValue = "true")
+public class JobReindexer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(JobReindexer.class);
+
+    private final JobRepository jobRepo;
+    private final OpenSearchBulkClient client;
+    private final TransactionTemplate readOnlyTx;
+    private final int batchSize;
+
+    public JobReindexer(JobRepository jobRepo, OpenSearchBulkClient client, PlatformTransactionManager txManager,
+                        @Value("${hamediah.opensearch.batch-size:500}") int batchSize) {
+        this.jobRepo = jobRepo;
+        this.client = client;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("reindex")) reindexAll();
+    }
+
+    public long reindexAll() {
+        long start = System.nanoTime();
+        long count = 0;
+        long afterId = 0;
+        while (true) {
+            long after = afterId;
+            Batch batch = readOnlyTx.execute(status -> load(after));
+            if (batch == null || batch.actions().isEmpty()) break;
+            client.bulk(batch.actions());
+            count += batch.actions().size();
+            afterId = batch.lastId();
+            if (batch.actions().size() < batchSize) break;
+        }
+        log.info("Reindexed {} jobs into '{}' in {} ms",
+                count, client.index(), (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    // Dokumente innerhalb der Transaktion bauen, solange die Firma geladen ist
+    private Batch load(long afterId) {
+        List<Job> jobs = jobRepo.findBatchWithCompanyAfter(afterId, Limit.of(batchSize));
+        List<OpenSearchBulkClient.Action> actions = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            actions.add(new OpenSearchBulkClient.Action(String.valueOf(job.getId()), JobDocument.from(job)));
+        }
+        return new Batch(actions, jobs.isEmpty() ? afterId : jobs.get(jobs.size() - 1).getId());
+    }
+
+    private record Batch(List<OpenSearchBulkClient.Action> actions, long lastId) {
+    }
+}
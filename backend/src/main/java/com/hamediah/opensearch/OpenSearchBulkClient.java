@@ -0,0 +1,96 @@
+package com.hamediah.opensearch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Minimaler Client für die OpenSearch-{@code _bulk}-API. Verbindungsaufbau und Antwort sind
+ * zeitlich begrenzt ({@code connect-timeout}, {@code read-timeout}), ein hängender Cluster
+ * blockiert den Relay also nicht unbegrenzt.
+ */
+@Component
+@ConditionalOnProperty(name = "hamediah.opensearch.enabled", havingValue = "true")
+public class OpenSearchBulkClient {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenSearchBulkClient.class);
+
+    /** Eine Bulk-Aktion: {@code document == null} bedeutet Löschen. */
+    public record Action(String id, JobDocument document) {
+    }
+
+    private final RestClient http;
+    private final ObjectMapper mapper;
+    private final String index;
+
+    public OpenSearchBulkClient(RestClient.Builder builder, ObjectMapper mapper,
+                                @Value("${hamediah.opensearch.url:http://localhost:9200}") String url,
+                                @Value("${hamediah.opensearch.index:jobs}") String index,
+                                @Value("${hamediah.opensearch.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${hamediah.opensearch.read-timeout:30s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.http = builder.baseUrl(url).requestFactory(requestFactory).build();
+        this.mapper = mapper;
+        this.index = index;
+    }
+
+    public String index() {
+        return index;
+    }
+
+    /**
+     * Sendet die Aktionen als einen Bulk-Request. Wirft eine Exception, wenn der Request oder
+     * einzelne Aktionen mit einem wiederholbaren Fehler (429/5xx) scheitern; Dokumentfehler (4xx)
+     * werden geloggt und verworfen, damit ein einzelnes Dokument die Queue nicht blockiert.
+     */
+    public void bulk(List<Action> actions) {
+        if (actions.isEmpty()) return;
+        StringBuilder body = new StringBuilder(actions.size() * 512);
+        try {
+            for (Action a : actions) {
+                if (a.document() == null) {
+                    body.append("{\"delete\":{\"_index\":").append(mapper.writeValueAsString(index))
+                            .append(",\"_id\":").append(mapper.writeValueAsString(a.id())).append("}}\n");
+                } else {
+                    body.append("{\"index\":{\"_index\":").append(mapper.writeValueAsString(index))
+                            .append(",\"_id\":").append(mapper.writeValueAsString(a.id())).append("}}\n");
+                    body.append(mapper.writeValueAsString(a.document())).append('\n');
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize bulk request", e);
+        }
+
+        JsonNode response = http.post()
+                .uri("/_bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body.toString())
+                .retrieve()
+                .body(JsonNode.class);
+        if (response == null || !response.path("errors").asBoolean(false)) return;
+
+        for (JsonNode item : response.path("items")) {
+            JsonNode result = item.elements().hasNext() ? item.elements().next() : item;
+            int status = result.path("status").asInt(200);
+            boolean deleteMissing = item.has("delete") && status == 404;
+            if (status < 300 || deleteMissing) continue;
+            if (status == 429 || status >= 500) {
+                throw new IllegalStateException("OpenSearch bulk item failed with status " + status);
+            }
+            log.warn("OpenSearch rejected document {}: {}", result.path("_id").asText(), result.path("error"));
+        }
+    }
+}
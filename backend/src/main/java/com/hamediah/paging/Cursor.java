@@ -0,0 +1,56 @@
+package com.hamediah.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset-Position {@code (created_at, id)} für die Sortierung {@code created_at DESC, id DESC}.
+ * Nach außen nur als opakes Base64url-Token sichtbar.
+ */
+public record Cursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+    private static final String OFFSET_PREFIX = "@";
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException wenn das Token nicht von {@link #encode()} stammt
+     */
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            if (sep < 0) throw new IllegalArgumentException("Invalid cursor");
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Position innerhalb einer bereits im Speicher sortierten Trefferliste (Relevanz-Ranking der Suche).
+     * Das ist kein SQL-OFFSET: geladen werden immer nur die IDs der aktuellen Seite.
+     */
+    public static String encodeOffset(int offset) {
+        String raw = OFFSET_PREFIX + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int decodeOffset(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(OFFSET_PREFIX)) throw new IllegalArgumentException("Invalid cursor");
+            int offset = Integer.parseInt(raw.substring(OFFSET_PREFIX.length()));
+            if (offset < 0) throw new IllegalArgumentException("Invalid cursor");
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
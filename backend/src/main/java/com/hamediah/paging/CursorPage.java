@@ -0,0 +1,32 @@
+package com.hamediah.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Eine Seite einer Keyset-Abfrage. {@code next} ist {@code null}, wenn keine weiteren Einträge folgen.
+ */
+public record CursorPage<T>(List<T> items, String next) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Baut eine Seite aus {@code limit + 1} geladenen Zeilen: die zusätzliche Zeile zeigt nur an,
+     * dass es eine Folgeseite gibt, und wird nicht ausgeliefert.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= limit) return new CursorPage<>(rows, null);
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), next);
+    }
+}
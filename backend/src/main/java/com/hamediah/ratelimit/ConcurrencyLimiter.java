@@ -0,0 +1,34 @@
+package com.hamediah.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Globale Obergrenze gleichzeitiger Requests, lock-frei über einen Zähler. Liegt knapp über der
+ * Größe des Connection-Pools, damit überzählige Requests sofort abgewiesen werden, statt
+ * bis zum Hikari-Timeout auf eine Connection zu warten.
+ */
+public final class ConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int max;
+
+    public ConcurrencyLimiter(int max) {
+        this.max = max;
+    }
+
+    public boolean tryEnter() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= max) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,137 @@
+package com.hamediah.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Zulassungskontrolle für {@code /api/**}: zuerst das Limit des Clients für die Routenklasse
+ * (429), dann die globale Obergrenze gleichzeitiger Requests (503), jeweils mit Retry-After.
+ * Client ist die Remote-Adresse (hinter nginx per {@code server.forward-headers-strategy}).
+ * Läuft vor der Security-Kette, aber nach der Observation, damit Ablehnungen in
+ * {@code http.server.requests} auftauchen.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "hamediah.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String TOO_MANY = "{\"error\":\"rate_limited\"}";
+    private static final String OVERLOADED = "{\"error\":\"overloaded\"}";
+
+    private final Map<RouteClass, RateLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejected = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> shed = new EnumMap<>(RouteClass.class);
+    private final ConcurrencyLimiter concurrency;
+
+    public RateLimitFilter(Environment env, MeterRegistry registry,
+                           @Value("${hamediah.rate-limit.max-concurrent:16}") int maxConcurrent,
+                           @Value("${hamediah.rate-limit.idle-expiry:10m}") Duration idleExpiry,
+                           @Value("${hamediah.rate-limit.max-clients:100000}") int maxClients) {
+        for (RouteClass route : RouteClass.values()) {
+            String prefix = "hamediah.rate-limit." + route.key();
+            limiters.put(route, new RateLimiter(
+                    env.getProperty(prefix + ".per-second", Double.class, route.perSecond),
+                    env.getProperty(prefix + ".burst", Integer.class, route.burst),
+                    idleExpiry, maxClients));
+            rejected.put(route, counter(registry, route, "client"));
+            shed.put(route, counter(registry, route, "overload"));
+        }
+        this.concurrency = new ConcurrencyLimiter(maxConcurrent);
+        Gauge.builder("hamediah.ratelimit.inflight", concurrency, ConcurrencyLimiter::inFlight)
+                .description("Gleichzeitig laufende /api-Requests")
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, RouteClass route, String reason) {
+        return Counter.builder("hamediah.ratelimit.rejected")
+                .tag("route", route.key())
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${hamediah.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleClients() {
+        for (RateLimiter limiter : limiters.values()) limiter.evictIdle();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS-Preflights nicht zählen
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RouteClass route = RouteClass.of(request.getMethod(), request.getRequestURI());
+        long wait = limiters.get(route).tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            rejected.get(route).increment();
+            reject(response, 429, (wait + 999_999_999L) / 1_000_000_000L, TOO_MANY);
+            return;
+        }
+        if (!concurrency.tryEnter()) {
+            shed.get(route).increment();
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, 1, OVERLOADED);
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            // Streaming-Antworten (z. B. Exporte) belegen ihren Platz bis zum Ende der Übertragung
+            if (async) request.getAsyncContext().addListener(new ExitOnComplete(concurrency));
+        } finally {
+            if (!async) concurrency.exit();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, int status, long retryAfterSeconds, String body)
+            throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(body);
+    }
+
+    private record ExitOnComplete(ConcurrencyLimiter concurrency) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrency.exit();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.hamediah.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Token-Bucket pro Client als GCRA ("generic cell rate algorithm"): der Zustand eines Clients
+ * ist ein einziger Zeitstempel (theoretischer Ankunftszeitpunkt), aktualisiert per CAS, also
+ * ohne Locks. Die Buckets liegen in einer {@link ConcurrentHashMap} (gestreift, Lesen lock-frei).
+ * Derselbe Zeitstempel zeigt auch, wie lange ein Client inaktiv ist; {@link #evictIdle()}
+ * entfernt Buckets, die seit {@code idleExpiry} wieder voll sind, ohne dass pro Request
+ * Zugriffsreihenfolgen gepflegt werden müssen.
+ */
+public final class RateLimiter {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final long idleNanos;
+    private final int maxClients;
+    private final Function<String, Bucket> newBucket = client -> new Bucket();
+
+    /**
+     * @param perSecond  dauerhaft erlaubte Requests pro Sekunde und Client
+     * @param burst      so viele Requests darf ein Client ohne Pause auf einmal senden
+     * @param maxClients Obergrenze für gleichzeitig gemerkte Clients
+     */
+    public RateLimiter(double perSecond, int burst, Duration idleExpiry, int maxClients) {
+        if (perSecond <= 0 || burst < 1) throw new IllegalArgumentException("perSecond and burst must be positive");
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.idleNanos = idleExpiry.toNanos();
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Verbraucht ein Token des Clients.
+     *
+     * @return 0, wenn der Request erlaubt ist, sonst die Wartezeit in Nanosekunden bis zum nächsten Token
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(client);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients && evictIdle() >= maxClients) {
+                // Voll mit aktiven Clients: lieber durchlassen, die globale Obergrenze schützt weiter
+                return 0;
+            }
+            bucket = buckets.computeIfAbsent(client, newBucket);
+        }
+        return bucket.tryAcquire(now, intervalNanos, capacityNanos);
+    }
+
+    /**
+     * Entfernt Buckets, deren Client seit {@code idleExpiry} nichts mehr gesendet hat.
+     *
+     * @return Anzahl der verbliebenen Clients
+     */
+    public int evictIdle() {
+        // Ankunftszeitpunkt in der Vergangenheit = Bucket voll; so lange schon = inaktiv
+        long cutoff = System.nanoTime() - idleNanos;
+        buckets.values().removeIf(bucket -> bucket.get() - cutoff < 0);
+        return buckets.size();
+    }
+
+    private static final class Bucket extends AtomicLong {
+        Bucket() {
+            super(System.nanoTime());
+        }
+
+        long tryAcquire(long now, long interval, long capacity) {
+            for (;;) {
+                long tat = get();
+                long next = Math.max(tat, now) + interval;
+                long excess = next - now - capacity;
+                if (excess > 0) return excess;
+                if (compareAndSet(tat, next)) return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.hamediah.ratelimit;
+
+import java.util.Locale;
+
+/**
+ * Routenklassen der öffentlichen API mit eigenem Limit pro Client. Die Vorgaben lassen sich
+ * unter {@code hamediah.rate-limit.<klasse>.per-second} bzw. {@code .burst} überschreiben.
+ */
+public enum RouteClass {
+    /** Listen und Suche: {@code GET /api/jobs}, {@code GET /api/companies}, Exporte */
+    SEARCH(5, 20),
+    /** Einzelabrufe, Vorschläge und Prüfungen */
+    DETAIL(20, 60),
+    /** POST/PUT/PATCH/DELETE */
+    WRITE(2, 10);
+
+    final double perSecond;
+    final int burst;
+
+    RouteClass(double perSecond, int burst) {
+        this.perSecond = perSecond;
+        this.burst = burst;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Klasse für einen Request unter {@code /api/}; ohne Allokation, läuft bei jedem Request. */
+    static RouteClass of(String method, String path) {
+        if (!"GET".equals(method) && !"HEAD".equals(method)) return WRITE;
+        if (path.equals("/api/jobs") || path.equals("/api/companies") || path.endsWith("/export")) return SEARCH;
+        return DETAIL;
+    }
+}
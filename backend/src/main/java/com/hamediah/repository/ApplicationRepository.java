@@ -1,11 +1,48 @@
 package com.hamediah.repository;
 
 import com.hamediah.domain.Application;
+import com.hamediah.dto.ApplicantKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
+    // Explizit über a.job.id: seit Application#getJobId würde die Ableitung "jobId" als eigenes Attribut suchen
+    @Query("select a from Application a where a.job.id = :jobId order by a.createdAt desc")
     List<Application> findByJobIdOrderByCreatedAtDesc(Long jobId);
+
+    @Query("select count(a) > 0 from Application a where a.job.id = :jobId and a.applicantEmail = :applicantEmail")
     boolean existsByJobIdAndApplicantEmail(Long jobId, String applicantEmail);
-}
\ No newline at end of file
+
+    // Keyset-Paginierung (created_at DESC, id DESC) über idx_application_job_created_at
+    @Query("select a from Application a where a.job.id = :jobId order by a.createdAt desc, a.id desc")
+    List<Application> findFirstPageByJobId(Long jobId, Limit limit);
+
+    // Zeilenvergleich, damit Postgres eine Range-Bedingung auf dem Index daraus macht
+    @Query("select a from Application a where a.job.id = :jobId"
+            + " and (a.createdAt, a.id) < (:createdAt, :id)"
+            + " order by a.createdAt desc, a.id desc")
+    List<Application> findPageByJobIdAfter(Long jobId, LocalDateTime createdAt, Long id, Limit limit);
+
+    // Für den Export: serverseitiger Cursor (fetchSize), nur innerhalb einer Transaktion konsumieren
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Application a where a.job.id = :jobId order by a.createdAt desc, a.id desc")
+    Stream<Application> streamByJobId(Long jobId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.hamediah.dto.ApplicantKey(a.job.id, a.applicantEmail) from Application a")
+    Stream<ApplicantKey> streamApplicantKeys();
+}
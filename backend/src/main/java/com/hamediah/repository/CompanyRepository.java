@@ -1,7 +1,24 @@
 package com.hamediah.repository;
 
 import com.hamediah.domain.Company;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
-}
\ No newline at end of file
+    List<Company> findByNameIn(Collection<String> names);
+
+    // Keyset-Paginierung (created_at DESC, id DESC) über idx_company_created_at
+    @Query("select c from Company c order by c.createdAt desc, c.id desc")
+    List<Company> findFirstPage(Limit limit);
+
+    // Zeilenvergleich, damit Postgres eine Range-Bedingung auf dem Index daraus macht
+    @Query("select c from Company c"
+            + " where (c.createdAt, c.id) < (:createdAt, :id)"
+            + " order by c.createdAt desc, c.id desc")
+    List<Company> findPageAfter(LocalDateTime createdAt, Long id, Limit limit);
+}
@@ -0,0 +1,15 @@
+package com.hamediah.repository;
+
+import com.hamediah.domain.JobOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+
+public interface JobOutboxRepository extends JpaRepository<JobOutboxEvent, Long> {
+
+    @Modifying
+    @Query("delete from JobOutboxEvent e where e.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
+}
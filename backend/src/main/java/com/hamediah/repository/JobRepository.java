@@ -1,13 +1,81 @@
 package com.hamediah.repository;
 
 import com.hamediah.domain.Job;
+import com.hamediah.dto.JobSummary;
+import com.hamediah.search.JobIndexEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface JobRepository extends JpaRepository<Job, Long> {
-    List<Job> findTop20ByOrderByCreatedAtDesc();
+
+    // Listen laden nur die Spalten der Karten; description nur als Auszug, tags gar nicht.
+    // archived = false als Literal, damit der Planer job_archive schon beim Planen ausschließt (V10)
+    String SUMMARY_SELECT = "select new com.hamediah.dto.JobSummary(j.id, j.title, c.id, c.name, j.location,"
+            + " substring(j.description, 1, " + JobSummary.SNIPPET_LENGTH + "), j.createdAt)"
+            + " from Job j left join j.company c where j.archived = false";
+
+    @Query(SUMMARY_SELECT + " order by j.createdAt desc, j.id desc")
+    List<JobSummary> findRecentSummaries(Limit limit);
+
+    @Query(SUMMARY_SELECT + " and j.id in :ids")
+    List<JobSummary> findSummariesByIdIn(Collection<Long> ids);
 
     // Suche nach Titel ODER Company-Name (beides case-insensitive)
-    List<Job> findByTitleContainingIgnoreCaseOrCompany_NameContainingIgnoreCase(String title, String companyName);
-}
\ No newline at end of file
+    @Query(SUMMARY_SELECT + " and (lower(j.title) like lower(concat('%', :q, '%'))"
+            + " or lower(c.name) like lower(concat('%', :q, '%')))")
+    List<JobSummary> searchSummaries(String q, Limit limit);
+
+    // Keyset-Paginierung (created_at DESC, id DESC) über idx_job_created_at; die Monatspartitionen
+    // werden in Reihenfolge gelesen, das Limit endet meist in der jüngsten
+    @Query(SUMMARY_SELECT + " order by j.createdAt desc, j.id desc")
+    List<JobSummary> findFirstPage(Limit limit);
+
+    // Zeilenvergleich statt "a < x or (a = x and id < y)": nur so wird daraus eine Range-Bedingung
+    // auf dem Index, und spätere Seiten kosten so viel wie die erste. Das zusätzliche
+    // created_at <= :createdAt lässt Postgres die jüngeren Monatspartitionen überspringen
+    @Query(SUMMARY_SELECT
+            + " and j.createdAt <= :createdAt and (j.createdAt, j.id) < (:createdAt, :id)"
+            + " order by j.createdAt desc, j.id desc")
+    List<JobSummary> findPageAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    // Archivierte Jobs fehlen, der Outbox-Relay entfernt sie dann aus OpenSearch
+    @Query("select j from Job j left join fetch j.company where j.archived = false and j.id in :ids")
+    List<Job> findWithCompanyByIdIn(Collection<Long> ids);
+
+    // Batch-Abruf per ID wie findById, also samt archivierter Jobs; join fetch statt einer
+    // Nachladeabfrage pro Job für die EAGER-Company
+    @Query("select j from Job j left join fetch j.company where j.id in :ids")
+    List<Job> findDetailsByIdIn(Collection<Long> ids);
+
+    // Firmenseite: Firma und ihre aktiven Jobs in einer Abfrage, Keyset wie findFirstPage
+    // über idx_job_company_created_at (V11)
+    @Query("select j from Job j join fetch j.company c where c.id = :companyId and j.archived = false"
+            + " order by j.createdAt desc, j.id desc")
+    List<Job> findCompanyFirstPage(Long companyId, Limit limit);
+
+    @Query("select j from Job j join fetch j.company c where c.id = :companyId and j.archived = false"
+            + " and j.createdAt <= :createdAt and (j.createdAt, j.id) < (:createdAt, :id)"
+            + " order by j.createdAt desc, j.id desc")
+    List<Job> findCompanyPageAfter(Long companyId, LocalDateTime createdAt, Long id, Limit limit);
+
+    // Vollständiger Durchlauf (z. B. Reindex) in Blöcken per Keyset über den Primärschlüssel,
+    // jeder Block in einer eigenen kurzen Transaktion
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select j from Job j left join fetch j.company where j.archived = false and j.id > :afterId order by j.id")
+    List<Job> findBatchWithCompanyAfter(Long afterId, Limit limit);
+
+    // Aufbau der In-Memory-Indizes: nur die indexierten Felder, per Cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.hamediah.search.JobIndexEntry(j.id, j.title, c.name, j.tags, j.location,"
+            + " j.latitude, j.longitude) from Job j left join j.company c where j.archived = false order by j.id")
+    Stream<JobIndexEntry> streamIndexEntries();
+}
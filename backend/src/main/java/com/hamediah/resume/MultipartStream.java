@@ -0,0 +1,189 @@
+package com.hamediah.resume;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Liest einen {@code multipart/form-data}-Body direkt vom Request-Stream, ohne Teile in den
+ * Heap oder in Temp-Dateien zu legen. {@link #nextPart()} springt zum nächsten Teil,
+ * {@link #body()} liefert dessen Inhalt bis zur Boundary. Der Puffer hat eine feste Größe,
+ * der Speicherbedarf hängt also nicht von der Dateigröße ab.
+ */
+final class MultipartStream {
+
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=(?:\"([^\"]+)\"|([^;\\s]+))", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NAME = Pattern.compile("\\bname=\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FILENAME = Pattern.compile("\\bfilename=\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+    // Kopfzeilen eines Teils; mehr braucht kein Browser
+    private static final int MAX_HEADER_BYTES = 8192;
+
+    record Part(String name, String filename, String contentType) {
+    }
+
+    private final InputStream in;
+    // "\r\n--" + Boundary; der Body beginnt ohne führendes CRLF, siehe Konstruktor
+    private final byte[] delimiter;
+    private final byte[] buf;
+    private int head;
+    private int tail;
+    private boolean eof;
+    private boolean finished;
+    // Boundary des aktuellen Teils ist gelesen, Kopfzeilen des nächsten stehen an
+    private boolean atBoundary;
+
+    MultipartStream(InputStream in, String contentType, int bufferSize) {
+        String boundary = boundary(contentType);
+        if (boundary == null) throw new IllegalArgumentException("multipart/form-data with boundary required");
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buf = new byte[Math.max(bufferSize, delimiter.length * 2 + MAX_HEADER_BYTES)];
+        // Vorangestelltes CRLF, damit auch die erste Boundary wie alle anderen erkannt wird
+        buf[0] = '\r';
+        buf[1] = '\n';
+        tail = 2;
+    }
+
+    static String boundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) return null;
+        Matcher m = BOUNDARY.matcher(contentType);
+        if (!m.find()) return null;
+        return m.group(1) != null ? m.group(1) : m.group(2);
+    }
+
+    /** Nächster Teil oder {@code null} nach der abschließenden Boundary. */
+    Part nextPart() throws IOException {
+        if (finished) return null;
+        // Rest des aktuellen Teils (oder die Präambel) überspringen
+        if (!atBoundary) body().skip(Long.MAX_VALUE);
+        if (!fill(2)) throw new IOException("Unexpected end of multipart body");
+        if (buf[head] == '-' && buf[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        String headers = readHeaders();
+        String name = null;
+        String filename = null;
+        String type = null;
+        for (String line : headers.split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (key.equals("content-disposition")) {
+                Matcher n = NAME.matcher(value);
+                if (n.find()) name = n.group(1);
+                Matcher f = FILENAME.matcher(value);
+                if (f.find()) filename = f.group(1);
+            } else if (key.equals("content-type")) {
+                type = value;
+            }
+        }
+        atBoundary = false;
+        return new Part(name, filename, type);
+    }
+
+    /** Inhalt des aktuellen Teils; endet vor dem CRLF der nächsten Boundary. */
+    InputStream body() {
+        return new PartInputStream();
+    }
+
+    // Liest von CRLF nach der Boundary bis zur Leerzeile; Kopfzeilen sind UTF-8 (Dateinamen)
+    private String readHeaders() throws IOException {
+        if (!fill(2) || buf[head] != '\r' || buf[head + 1] != '\n') throw new IOException("Malformed multipart boundary");
+        head += 2;
+        while (true) {
+            int end = indexOf(new byte[]{'\r', '\n', '\r', '\n'}, head, tail);
+            if (end >= 0) {
+                String headers = new String(buf, head, end - head, StandardCharsets.UTF_8);
+                head = end + 4;
+                return headers;
+            }
+            int scanned = tail - head;
+            if (scanned > MAX_HEADER_BYTES) throw new IOException("Multipart headers too large");
+            if (!fill(scanned + 1)) throw new IOException("Unexpected end of multipart headers");
+        }
+    }
+
+    /** Sorgt für mindestens {@code n} Bytes ab {@code head}; {@code false} bei Stream-Ende davor. */
+    private boolean fill(int n) throws IOException {
+        if (tail - head >= n) return true;
+        if (head > 0) {
+            System.arraycopy(buf, head, buf, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        while (tail - head < n && !eof) {
+            int read = in.read(buf, tail, buf.length - tail);
+            if (read < 0) eof = true;
+            else tail += read;
+        }
+        return tail - head >= n;
+    }
+
+    private int indexOf(byte[] pattern, int from, int to) {
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buf[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private final class PartInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (atBoundary || finished) return -1;
+            if (len == 0) return 0;
+            fill(delimiter.length);
+            int at = indexOf(delimiter, head, tail);
+            int available;
+            if (at >= 0) {
+                available = at - head;
+                if (available == 0) {
+                    // Boundary erreicht: dahinter stehen "--" (Ende) oder CRLF (nächster Teil)
+                    head += delimiter.length;
+                    atBoundary = true;
+                    return -1;
+                }
+            } else if (eof) {
+                throw new IOException("Unexpected end of multipart body");
+            } else {
+                // Das Ende könnte der Anfang einer Boundary sein und bleibt im Puffer
+                available = tail - head - (delimiter.length - 1);
+                if (available <= 0) {
+                    fill(tail - head + 1);
+                    return read(b, off, len);
+                }
+            }
+            int n = Math.min(len, available);
+            System.arraycopy(buf, head, b, off, n);
+            head += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] scratch = new byte[4096];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(scratch, 0, (int) Math.min(scratch.length, n - skipped));
+                if (read < 0) break;
+                skipped += read;
+            }
+            return skipped;
+        }
+    }
+}
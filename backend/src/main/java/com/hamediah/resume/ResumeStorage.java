@@ -0,0 +1,260 @@
+package com.hamediah.resume;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Lebensläufe auf der lokalen Platte, inhaltsadressiert: Dateiname ist der SHA-256 des Inhalts
+ * plus Endung ({@code ab/ab12…ef.pdf}), identische Dateien liegen also nur einmal vor.
+ * <p>
+ * Uploads werden in festen Blöcken vom Request direkt in eine Temp-Datei im selben Verzeichnis
+ * geschrieben und dabei gehasht, danach per atomarem Rename an ihren Platz gelegt. Der Heap
+ * trägt pro Upload nur den Puffer; Anzahl gleichzeitiger Uploads und Dateigröße sind begrenzt.
+ * Damit langsame Clients die Slots nicht dauerhaft belegen, hat jeder Upload eine Gesamtfrist
+ * und nach einer Anlaufzeit eine Mindestrate (siehe {@link UploadGuard}).
+ * Angenommen werden PDF, DOC, DOCX und ODT, erkannt an den ersten Bytes statt am
+ * Content-Type des Clients.
+ */
+@Component
+public class ResumeStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeStorage.class);
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.(pdf|doc|docx|odt)");
+    // Anlaufzeit, bevor die Mindestrate gilt (TLS-Handshake, Multipart-Header, TCP-Slow-Start)
+    private static final Duration RATE_GRACE = Duration.ofSeconds(10);
+
+    private final Path root;
+    private final Path incoming;
+    private final long maxBytes;
+    private final Semaphore uploads;
+    private final Duration uploadTimeout;
+    private final long minBytesPerSecond;
+    private final ScheduledExecutorService watchdog;
+    private final MeterRegistry registry;
+
+    public ResumeStorage(@Value("${hamediah.resumes.dir:data/resumes}") Path root,
+                         @Value("${hamediah.resumes.max-size:5MB}") DataSize maxSize,
+                         @Value("${hamediah.resumes.max-concurrent-uploads:4}") int maxConcurrentUploads,
+                         @Value("${hamediah.resumes.upload-timeout:60s}") Duration uploadTimeout,
+                         @Value("${hamediah.resumes.min-upload-rate:16KB}") DataSize minUploadRate,
+                         MeterRegistry registry) {
+        this.root = root.toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        this.maxBytes = maxSize.toBytes();
+        this.uploads = new Semaphore(maxConcurrentUploads);
+        this.uploadTimeout = uploadTimeout;
+        this.minBytesPerSecond = minUploadRate.toBytes();
+        this.registry = registry;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "resume-upload-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create resume directory " + incoming, e);
+        }
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Liest den ersten Dateiteil eines {@code multipart/form-data}-Bodys und speichert ihn.
+     *
+     * @throws UploadsBusyException    wenn schon {@code max-concurrent-uploads} Uploads laufen
+     * @throws ResumeTooLargeException wenn die Datei größer als {@code max-size} ist
+     * @throws UploadTimeoutException  wenn der Upload {@code upload-timeout} oder {@code min-upload-rate} verfehlt
+     * @throws IllegalArgumentException bei fehlender Datei oder nicht unterstütztem Format
+     */
+    public StoredResume store(InputStream body, String contentType) throws IOException {
+        if (!uploads.tryAcquire()) {
+            count("busy");
+            throw new UploadsBusyException();
+        }
+        UploadGuard guard = new UploadGuard(body, uploads, uploadTimeout.toNanos(),
+                RATE_GRACE.toNanos(), minBytesPerSecond);
+        // Prüft auch, während der lesende Thread im read() des Sockets blockiert
+        ScheduledFuture<?> check = watchdog.scheduleAtFixedRate(guard::check, 1, 1, TimeUnit.SECONDS);
+        try {
+            MultipartStream multipart = new MultipartStream(guard, contentType, BUFFER_SIZE);
+            MultipartStream.Part part;
+            while ((part = multipart.nextPart()) != null) {
+                if (part.filename() != null) return write(multipart.body());
+            }
+            throw new IllegalArgumentException("No file part in upload");
+        } catch (ResumeTooLargeException e) {
+            count("too_large");
+            throw e;
+        } catch (UploadTimeoutException e) {
+            count("timeout");
+            throw e;
+        } finally {
+            check.cancel(false);
+            guard.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private StoredResume write(InputStream in) throws IOException {
+        MessageDigest sha256 = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            byte[] buf = new byte[BUFFER_SIZE];
+            ByteBuffer wrapped = ByteBuffer.wrap(buf);
+            long size = 0;
+            Format format = null;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                int n;
+                while ((n = readFully(in, buf)) > 0) {
+                    if (format == null) format = Format.sniff(buf, n);
+                    size += n;
+                    if (size > maxBytes) throw new ResumeTooLargeException(maxBytes);
+                    sha256.update(buf, 0, n);
+                    wrapped.clear().limit(n);
+                    while (wrapped.hasRemaining()) out.write(wrapped);
+                }
+                if (size == 0) throw new IllegalArgumentException("Empty file");
+                out.force(true);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String name = hash + "." + format.extension;
+            Path target = path(name);
+            if (Files.exists(target)) {
+                count("deduplicated");
+            } else {
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                count("stored");
+                log.debug("Stored resume {} ({} bytes)", name, size);
+            }
+            return new StoredResume(name, hash, size, format.mediaType);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Gespeicherte Datei zum Namen; leer bei ungültigem oder unbekanntem Namen. */
+    public Optional<StoredResume> find(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) return Optional.empty();
+        Path path = path(name);
+        try {
+            long size = Files.size(path);
+            String extension = name.substring(name.indexOf('.') + 1);
+            return Optional.of(new StoredResume(name, name.substring(0, 64), size,
+                    Format.forExtension(extension).mediaType));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Path file(StoredResume resume) {
+        return path(resume.name());
+    }
+
+    private Path path(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private void count(String outcome) {
+        registry.counter("hamediah.resumes.uploads", "outcome", outcome).increment();
+    }
+
+    // Füllt den Puffer möglichst ganz, damit die Formaterkennung den Dateianfang am Stück sieht
+    private static int readFully(InputStream in, byte[] buf) throws IOException {
+        int total = 0;
+        while (total < buf.length) {
+            int n = in.read(buf, total, buf.length - total);
+            if (n < 0) break;
+            total += n;
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private enum Format {
+        PDF("pdf", "application/pdf"),
+        DOC("doc", "application/msword"),
+        DOCX("docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+        ODT("odt", "application/vnd.oasis.opendocument.text");
+
+        private static final String ODT_MARKER = "mimetype";
+
+        final String extension;
+        final String mediaType;
+
+        Format(String extension, String mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        static Format forExtension(String extension) {
+            for (Format f : values()) if (f.extension.equals(extension)) return f;
+            throw new IllegalArgumentException("Unknown resume extension: " + extension);
+        }
+
+        static Format sniff(byte[] head, int length) {
+            if (startsWith(head, length, '%', 'P', 'D', 'F', '-')) return PDF;
+            if (startsWith(head, length, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)) return DOC;
+            // DOCX und ODT sind beide ZIP-Container; ODT beginnt mit dem unkomprimierten Eintrag
+            // "mimetype" (Name ab Offset 30, Inhalt ab 38)
+            if (startsWith(head, length, 'P', 'K', 3, 4)) {
+                String mimetype = ODT_MARKER + ODT.mediaType;
+                if (length >= 30 + mimetype.length()
+                        && new String(head, 30, mimetype.length(), StandardCharsets.ISO_8859_1).equals(mimetype)) {
+                    return ODT;
+                }
+                return DOCX;
+            }
+            throw new IllegalArgumentException("Unsupported resume format, expected PDF, DOC, DOCX or ODT");
+        }
+
+        private static boolean startsWith(byte[] head, int length, int... magic) {
+            if (length < magic.length) return false;
+            for (int i = 0; i < magic.length; i++) if ((head[i] & 0xff) != magic[i]) return false;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.hamediah.resume;
+
+/**
+ * Die Datei überschreitet {@code hamediah.resumes.max-size}.
+ */
+public class ResumeTooLargeException extends RuntimeException {
+    public ResumeTooLargeException(long maxBytes) {
+        super("Resume exceeds the maximum size of " + maxBytes + " bytes");
+    }
+}
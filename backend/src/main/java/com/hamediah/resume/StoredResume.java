@@ -0,0 +1,14 @@
+package com.hamediah.resume;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Gespeicherter Lebenslauf; {@code name} ist Hash plus Endung und zugleich der Download-Schlüssel.
+ */
+public record StoredResume(String name, String sha256, long size, String contentType) {
+
+    @JsonProperty
+    public String url() {
+        return "/api/applications/resumes/" + name;
+    }
+}
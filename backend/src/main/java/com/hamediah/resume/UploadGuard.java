@@ -0,0 +1,82 @@
+package com.hamediah.resume;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request-Body eines Uploads mit Gesamtfrist und Mindestrate. Hält den Upload-Slot und gibt
+ * ihn genau einmal zurück: regulär am Ende von {@link ResumeStorage#store}, oder schon vom
+ * Watchdog, sobald die Frist abgelaufen ist. Ein Client, der mitten im Body stehen bleibt,
+ * blockiert damit höchstens bis zur Frist einen Slot, auch wenn der lesende Thread noch bis
+ * zum Socket-Timeout von Tomcat hängt; sein nächster {@code read} wirft dann.
+ */
+class UploadGuard extends FilterInputStream {
+
+    private final Semaphore slots;
+    private final long start = System.nanoTime();
+    private final long timeoutNanos;
+    private final long graceNanos;
+    private final long minBytesPerSecond;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private volatile long bytes;
+    private volatile String expired;
+
+    UploadGuard(InputStream in, Semaphore slots, long timeoutNanos, long graceNanos, long minBytesPerSecond) {
+        super(in);
+        this.slots = slots;
+        this.timeoutNanos = timeoutNanos;
+        this.graceNanos = graceNanos;
+        this.minBytesPerSecond = minBytesPerSecond;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureActive();
+        int b = super.read();
+        if (b >= 0) bytes++;
+        ensureActive();
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws IOException {
+        ensureActive();
+        int n = super.read(buf, off, len);
+        if (n > 0) bytes += n;
+        ensureActive();
+        return n;
+    }
+
+    /**
+     * Prüft Frist und Rate; bei Verstoß wird der Slot sofort freigegeben.
+     *
+     * @return {@code true}, wenn der Upload abgebrochen ist
+     */
+    boolean check() {
+        if (expired != null) return true;
+        long elapsed = System.nanoTime() - start;
+        String reason = null;
+        if (elapsed > timeoutNanos) {
+            reason = "deadline exceeded";
+        } else if (elapsed > graceNanos && minBytesPerSecond > 0
+                && bytes * 1_000_000_000L / elapsed < minBytesPerSecond) {
+            reason = "below minimum rate";
+        }
+        if (reason == null) return false;
+        expired = reason;
+        release();
+        return true;
+    }
+
+    void release() {
+        if (released.compareAndSet(false, true)) slots.release();
+    }
+
+    private void ensureActive() {
+        if (check()) throw new UploadTimeoutException(expired);
+    }
+}
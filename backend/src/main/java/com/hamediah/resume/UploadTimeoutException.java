@@ -0,0 +1,11 @@
+package com.hamediah.resume;
+
+/**
+ * Der Upload hat {@code hamediah.resumes.upload-timeout} überschritten oder war langsamer als
+ * {@code hamediah.resumes.min-upload-rate}.
+ */
+public class UploadTimeoutException extends RuntimeException {
+    public UploadTimeoutException(String reason) {
+        super("Resume upload aborted: " + reason);
+    }
+}
@@ -0,0 +1,10 @@
+package com.hamediah.resume;
+
+/**
+ * Es laufen bereits {@code hamediah.resumes.max-concurrent-uploads} Uploads; später erneut versuchen.
+ */
+public class UploadsBusyException extends RuntimeException {
+    public UploadsBusyException() {
+        super("Too many concurrent resume uploads");
+    }
+}
@@ -0,0 +1,33 @@
+package com.hamediah.search;
+
+import com.hamediah.geo.BoundingBox;
+import com.hamediah.geo.GeoPoint;
+
+/**
+ * Räumlicher Filter für die Jobliste: Umkreis um {@code center} und/oder Rechteck {@code box},
+ * beide optional; sind beide gesetzt, müssen beide zutreffen. Jobs ohne Koordinaten fallen
+ * bei jedem nicht leeren Geo-Filter heraus.
+ *
+ * @throws IllegalArgumentException bei Radius außerhalb (0, {@value #MAX_RADIUS_KM}] km
+ */
+public record GeoFilter(GeoPoint center, double radiusKm, BoundingBox box) {
+
+    /** Etwa der halbe Erdumfang, darüber liegt ohnehin alles im Umkreis. */
+    public static final double MAX_RADIUS_KM = 20_000;
+
+    public static final GeoFilter NONE = new GeoFilter(null, 0, null);
+
+    public GeoFilter {
+        if (center != null && !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (int) MAX_RADIUS_KM + " km");
+        }
+    }
+
+    public boolean isEmpty() {
+        return center == null && box == null;
+    }
+
+    public boolean matches(GeoPoint point) {
+        return (center == null || center.distanceKm(point) <= radiusKm) && (box == null || box.contains(point));
+    }
+}
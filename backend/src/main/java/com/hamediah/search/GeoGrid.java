@@ -0,0 +1,123 @@
+package com.hamediah.search;
+
+import com.hamediah.geo.GeoPoint;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gitter aus Zellen von 1° x 1° über die Ordinalzahlen des {@link JobFacetIndex}. Jobs am selben
+ * Ort teilen sich einen Punkt und damit eine Bitmap; eine Abfrage prüft nur die Zellen, die
+ * Umkreis bzw. Rechteck überdecken, und rechnet die Entfernung einmal pro Punkt statt pro Job.
+ * Nicht threadsicher, der Facetten-Index schützt es mit seinem Lock.
+ */
+class GeoGrid {
+
+    record Match(GeoPoint point, double distanceKm, RoaringBitmap ordinals) {
+    }
+
+    // Zellschlüssel -> Punkt -> Ordinalzahlen
+    private final Map<Long, Map<GeoPoint, RoaringBitmap>> cells = new HashMap<>();
+    private int points;
+
+    void add(GeoPoint point, int ordinal) {
+        cells.computeIfAbsent(cell(point), k -> new HashMap<>())
+                .computeIfAbsent(point, p -> {
+                    points++;
+                    return new RoaringBitmap();
+                })
+                .add(ordinal);
+    }
+
+    void remove(GeoPoint point, int ordinal) {
+        long key = cell(point);
+        Map<GeoPoint, RoaringBitmap> cell = cells.get(key);
+        if (cell == null) return;
+        RoaringBitmap bitmap = cell.get(point);
+        if (bitmap == null) return;
+        bitmap.remove(ordinal);
+        if (!bitmap.isEmpty()) return;
+        cell.remove(point);
+        points--;
+        if (cell.isEmpty()) cells.remove(key);
+    }
+
+    int points() {
+        return points;
+    }
+
+    /**
+     * Alle Punkte, auf die der Filter zutrifft; {@code distanceKm} ist ohne Mittelpunkt {@code NaN}.
+     * Die Bitmaps gehören dem Gitter und dürfen nicht verändert werden.
+     */
+    List<Match> query(GeoFilter filter) {
+        double south, north, west, east;
+        if (filter.center() != null) {
+            GeoPoint c = filter.center();
+            double angle = filter.radiusKm() / GeoPoint.EARTH_RADIUS_KM;
+            double dLat = Math.toDegrees(angle);
+            south = Math.max(-90, c.latitude() - dLat);
+            north = Math.min(90, c.latitude() + dLat);
+            // Breite des Umkreises in Länge; am Pol oder bei sehr großem Radius alle Längen
+            double dLon = Math.toDegrees(Math.asin(Math.sin(angle) / Math.cos(Math.toRadians(c.latitude()))));
+            if (south <= -90 || north >= 90 || Double.isNaN(dLon) || angle >= Math.PI / 2) {
+                west = -180;
+                east = 180;
+            } else {
+                west = c.longitude() - dLon;
+                east = c.longitude() + dLon;
+            }
+        } else {
+            south = filter.box().south();
+            north = filter.box().north();
+            west = filter.box().west();
+            east = filter.box().crossesDateLine() ? filter.box().east() + 360 : filter.box().east();
+        }
+
+        int lat0 = latIndex(south), lat1 = latIndex(north);
+        int lon0 = (int) Math.floor(west), lon1 = (int) Math.floor(east);
+        if (lon1 - lon0 >= 360) {
+            lon0 = -180;
+            lon1 = 179;
+        }
+        List<Match> result = new ArrayList<>();
+        long candidates = (long) (lat1 - lat0 + 1) * (lon1 - lon0 + 1);
+        // Große Flächen: die belegten Zellen durchgehen statt aller überdeckten
+        if (candidates > cells.size()) {
+            for (Map<GeoPoint, RoaringBitmap> cell : cells.values()) collect(cell, filter, result);
+            return result;
+        }
+        for (int lat = lat0; lat <= lat1; lat++) {
+            for (int lon = lon0; lon <= lon1; lon++) {
+                Map<GeoPoint, RoaringBitmap> cell = cells.get(key(lat, Math.floorMod(lon + 180, 360) - 180));
+                if (cell != null) collect(cell, filter, result);
+            }
+        }
+        return result;
+    }
+
+    private static void collect(Map<GeoPoint, RoaringBitmap> cell, GeoFilter filter, List<Match> result) {
+        cell.forEach((point, ordinals) -> {
+            if (!filter.matches(point)) return;
+            double distance = filter.center() != null ? filter.center().distanceKm(point) : Double.NaN;
+            result.add(new Match(point, distance, ordinals));
+        });
+    }
+
+    private static long cell(GeoPoint point) {
+        // Länge 180 gehört zur Zelle von -180
+        return key(latIndex(point.latitude()), Math.floorMod((int) Math.floor(point.longitude()) + 180, 360) - 180);
+    }
+
+    // Breite 90 gehört zur obersten Zelle
+    private static int latIndex(double latitude) {
+        return Math.min(89, (int) Math.floor(latitude));
+    }
+
+    private static long key(int lat, int lon) {
+        return (long) lat * 1000 + lon;
+    }
+}
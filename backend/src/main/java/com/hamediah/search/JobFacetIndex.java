@@ -0,0 +1,352 @@
+package com.hamediah.search;
+
+import com.hamediah.dto.FacetCount;
+import com.hamediah.geo.GeoPoint;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap-Index für die Facetten Ort, Tag und Firma. Jeder Job bekommt eine fortlaufende
+ * Ordinalzahl (aufsteigend mit der Job-ID, also auch mit dem Anlagezeitpunkt); pro Facettenwert
+ * wird eine {@link RoaringBitmap} über diese Ordinalzahlen gehalten. Filter und Zählungen sind
+ * damit reine Bitmap-Operationen, ohne Datenbankzugriff. Die Koordinaten liegen im selben
+ * Ordinalraum in einem {@link GeoGrid}, sodass Umkreis- und Rechteckfilter sich mit Facetten,
+ * Suchtreffern und Zählungen kombinieren lassen.
+ */
+@Component
+public class JobFacetIndex implements JobIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JobFacetIndex.class);
+
+    public enum Facet {
+        LOCATION, TAG, COMPANY;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Job-ID <-> Ordinalzahl; Ordinalzahlen werden nicht wiederverwendet
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] jobIds = new long[1024];
+    private int nextOrdinal;
+
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<Facet, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(Facet.class);
+    // normalisierter Schlüssel -> Anzeigeform (erste gesehene Schreibweise)
+    private final Map<Facet, Map<String, String>> labels = new EnumMap<>(Facet.class);
+    // Ordinalzahl -> Facettenschlüssel, damit Updates/Deletes die alten Bits löschen können
+    private final Map<Integer, Map<Facet, Set<String>>> documents = new HashMap<>();
+    // Ordinalzahl -> Koordinaten, nur für Jobs mit bekanntem Ort
+    private final Map<Integer, GeoPoint> positions = new HashMap<>();
+    private final GeoGrid grid = new GeoGrid();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public JobFacetIndex() {
+        for (Facet facet : Facet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+            labels.put(facet, new HashMap<>());
+        }
+    }
+
+    @Override
+    public void onRebuilt() {
+        ready = true;
+        log.info("Job facet index ready: {} jobs, {} locations, {} tags, {} companies, {} geo points ({} jobs)",
+                live.getCardinality(), bitmaps.get(Facet.LOCATION).size(), bitmaps.get(Facet.TAG).size(),
+                bitmaps.get(Facet.COMPANY).size(), grid.points(), positions.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(JobIndexEntry entry) {
+        Map<Facet, Set<String>> keys = new EnumMap<>(Facet.class);
+        Map<String, String> display = new HashMap<>();
+        keys.put(Facet.LOCATION, values(entry.location(), false, display));
+        keys.put(Facet.TAG, values(entry.tags(), true, display));
+        keys.put(Facet.COMPANY, values(entry.companyName(), false, display));
+        GeoPoint point = GeoPoint.of(entry.latitude(), entry.longitude());
+
+        lock.writeLock().lock();
+        try {
+            // Bestehende Jobs behalten ihre Ordinalzahl und damit ihre Position in der Liste
+            Integer ordinal = ordinals.get(entry.id());
+            if (ordinal == null) {
+                ordinal = nextOrdinal++;
+                if (ordinal == jobIds.length) jobIds = Arrays.copyOf(jobIds, jobIds.length * 2);
+                jobIds[ordinal] = entry.id();
+                ordinals.put(entry.id(), ordinal);
+            } else {
+                clearBits(ordinal);
+            }
+            int ord = ordinal;
+            keys.forEach((facet, values) -> {
+                for (String key : values) {
+                    bitmaps.get(facet).computeIfAbsent(key, k -> new RoaringBitmap()).add(ord);
+                    labels.get(facet).putIfAbsent(key, display.get(key));
+                }
+            });
+            documents.put(ord, keys);
+            if (point != null) {
+                positions.put(ord, point);
+                grid.add(point, ord);
+            }
+            live.add(ord);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(jobId);
+            if (ordinal == null) return;
+            clearBits(ordinal);
+            live.remove(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Seite der gefilterten Jobs, neueste zuerst.
+     *
+     * @param before nur Ordinalzahlen kleiner als dieser Wert ({@code null} = erste Seite)
+     * @param restrictTo optionale Job-IDs (z. B. Suchtreffer), auf die zusätzlich eingeschränkt wird
+     */
+    public Page page(JobFilter filter, Integer before, int limit, Collection<Long> restrictTo) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = matches(filter, null, restrictTo);
+            // Alles ab dem Cursor abschneiden, dann rückwärts nur so weit laufen wie nötig
+            if (before != null) matches.remove((long) Math.max(before, 0), (long) Math.max(nextOrdinal, before));
+            List<Long> ids = new ArrayList<>(limit);
+            IntIterator it = matches.getReverseIntIterator();
+            int last = -1;
+            while (it.hasNext() && ids.size() < limit) {
+                last = it.next();
+                ids.add(jobIds[last]);
+            }
+            boolean more = it.hasNext();
+            return new Page(ids, more ? last : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seite der gefilterten Jobs nach Entfernung zu {@code filter.geo().center()}, nächste zuerst,
+     * bei gleichem Ort neueste zuerst. Geblättert wird per Offset, {@link Page#next()} ist der
+     * Offset der nächsten Seite. Nur Punkte im Umkreis werden sortiert, nicht die einzelnen Jobs.
+     *
+     * @throws IllegalArgumentException ohne Mittelpunkt im Filter
+     */
+    public Page nearest(JobFilter filter, int offset, int limit, Collection<Long> restrictTo) {
+        if (filter.geo().center() == null) throw new IllegalArgumentException("Sorting by distance needs a center");
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = matches(filter, null, restrictTo);
+            List<GeoGrid.Match> points = grid.query(filter.geo());
+            points.sort(Comparator.comparingDouble(GeoGrid.Match::distanceKm));
+            List<Long> ids = new ArrayList<>(limit);
+            int skip = offset;
+            boolean more = false;
+            for (GeoGrid.Match point : points) {
+                if (ids.size() == limit) {
+                    // Nur noch prüfen, ob hinter der Seite weitere Treffer liegen
+                    if (RoaringBitmap.intersects(matches, point.ordinals())) {
+                        more = true;
+                        break;
+                    }
+                    continue;
+                }
+                int n = RoaringBitmap.andCardinality(matches, point.ordinals());
+                if (skip >= n) {
+                    skip -= n;
+                    continue;
+                }
+                IntIterator it = RoaringBitmap.and(matches, point.ordinals()).getReverseIntIterator();
+                for (; skip > 0; skip--) it.next();
+                while (it.hasNext() && ids.size() < limit) ids.add(jobIds[it.next()]);
+                if (it.hasNext()) {
+                    more = true;
+                    break;
+                }
+            }
+            return new Page(ids, more ? offset + ids.size() : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Entfernung in km zu {@code center} für die Jobs mit Koordinaten. */
+    public Map<Long, Double> distances(Collection<Long> ids, GeoPoint center) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> result = new HashMap<>();
+            for (Long id : ids) {
+                Integer ord = ordinals.get(id);
+                GeoPoint point = ord != null ? positions.get(ord) : null;
+                if (point != null) result.put(id, center.distanceKm(point));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Schränkt eine Liste von Job-IDs (z. B. ein Relevanz-Ranking) auf die Treffer des Filters ein,
+     * Reihenfolge bleibt erhalten.
+     */
+    public List<Long> retain(List<Long> ids, JobFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = matches(filter, null, null);
+            List<Long> result = new ArrayList<>();
+            for (Long id : ids) {
+                Integer ord = ordinals.get(id);
+                if (ord != null && matches.contains(ord)) result.add(id);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facettenzählungen in einem Durchgang. Für jede Facette wird der Filter ohne die eigene
+     * Facette angewendet (disjunktive Facetten), damit die Alternativen sichtbar bleiben.
+     */
+    public Map<String, List<FacetCount>> counts(JobFilter filter, Collection<Long> restrictTo, int top) {
+        lock.readLock().lock();
+        try {
+            Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+            for (Facet facet : Facet.values()) {
+                RoaringBitmap base = matches(filter, facet, restrictTo);
+                List<FacetCount> counts = new ArrayList<>();
+                if (!base.isEmpty()) {
+                    bitmaps.get(facet).forEach((key, bitmap) -> {
+                        int n = RoaringBitmap.andCardinality(base, bitmap);
+                        if (n > 0) counts.add(new FacetCount(labels.get(facet).get(key), n));
+                    });
+                }
+                counts.sort(Comparator.comparingInt(FacetCount::count).reversed()
+                        .thenComparing(FacetCount::value));
+                result.put(facet.key(), counts.size() > top ? List.copyOf(counts.subList(0, top)) : counts);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Aufrufer hält das Read-Lock. exclude: diese Facette wird beim Filtern ignoriert.
+    private RoaringBitmap matches(JobFilter filter, Facet exclude, Collection<Long> restrictTo) {
+        RoaringBitmap result = live.clone();
+        if (restrictTo != null) {
+            RoaringBitmap allowed = new RoaringBitmap();
+            for (Long id : restrictTo) {
+                Integer ord = ordinals.get(id);
+                if (ord != null) allowed.add(ord.intValue());
+            }
+            result.and(allowed);
+        }
+        if (exclude != Facet.LOCATION) restrict(result, Facet.LOCATION, filter.locations(), false);
+        if (exclude != Facet.TAG) restrict(result, Facet.TAG, filter.tags(), filter.allTags());
+        if (exclude != Facet.COMPANY) restrict(result, Facet.COMPANY, filter.companies(), false);
+        if (!filter.geo().isEmpty()) {
+            RoaringBitmap near = new RoaringBitmap();
+            for (GeoGrid.Match match : grid.query(filter.geo())) near.or(match.ordinals());
+            result.and(near);
+        }
+        return result;
+    }
+
+    private void restrict(RoaringBitmap result, Facet facet, Set<String> keys, boolean all) {
+        if (keys.isEmpty()) return;
+        Map<String, RoaringBitmap> byKey = bitmaps.get(facet);
+        if (all) {
+            for (String key : keys) {
+                RoaringBitmap bitmap = byKey.get(key);
+                if (bitmap == null) {
+                    result.clear();
+                    return;
+                }
+                result.and(bitmap);
+            }
+        } else {
+            RoaringBitmap any = new RoaringBitmap();
+            for (String key : keys) {
+                RoaringBitmap bitmap = byKey.get(key);
+                if (bitmap != null) any.or(bitmap);
+            }
+            result.and(any);
+        }
+    }
+
+    // Aufrufer hält das Write-Lock
+    private void clearBits(int ordinal) {
+        GeoPoint point = positions.remove(ordinal);
+        if (point != null) grid.remove(point, ordinal);
+        Map<Facet, Set<String>> old = documents.remove(ordinal);
+        if (old == null) return;
+        old.forEach((facet, keys) -> {
+            Map<String, RoaringBitmap> byKey = bitmaps.get(facet);
+            for (String key : keys) {
+                RoaringBitmap bitmap = byKey.get(key);
+                if (bitmap == null) continue;
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    byKey.remove(key);
+                    labels.get(facet).remove(key);
+                }
+            }
+        });
+    }
+
+    // Tags sind kommagetrennt, Ort und Firma jeweils ein Wert
+    private static Set<String> values(String raw, boolean split, Map<String, String> display) {
+        if (raw == null || raw.isBlank()) return Set.of();
+        Set<String> keys = new LinkedHashSet<>();
+        for (String part : split ? raw.split(",") : new String[]{raw}) {
+            String value = part.trim();
+            String key = JobFilter.key(value);
+            if (key.isEmpty()) continue;
+            keys.add(key);
+            display.putIfAbsent(key, value);
+        }
+        return keys;
+    }
+
+    /**
+     * Job-IDs einer Seite und die Ordinalzahl, vor der die nächste Seite beginnt
+     * (bei {@link #nearest} der Offset der nächsten Seite).
+     */
+    public record Page(List<Long> ids, Integer next) {
+    }
+}
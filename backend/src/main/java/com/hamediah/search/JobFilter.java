@@ -0,0 +1,43 @@
+package com.hamediah.search;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Facetten-Filter für die Jobliste. Werte innerhalb einer Facette werden ODER-verknüpft
+ * (Tags bei {@code allTags} UND), verschiedene Facetten immer UND; {@code geo} schränkt
+ * zusätzlich räumlich ein. Die Werte werden wie im Suchindex normalisiert.
+ */
+public record JobFilter(Set<String> locations, Set<String> tags, Set<String> companies, boolean allTags,
+                        GeoFilter geo) {
+
+    public static final JobFilter NONE = new JobFilter(Set.of(), Set.of(), Set.of(), false, GeoFilter.NONE);
+
+    public static JobFilter of(Collection<String> locations, Collection<String> tags, Collection<String> companies,
+                               boolean allTags) {
+        return new JobFilter(keys(locations), keys(tags), keys(companies), allTags, GeoFilter.NONE);
+    }
+
+    public JobFilter withGeo(GeoFilter geo) {
+        return new JobFilter(locations, tags, companies, allTags, geo);
+    }
+
+    public boolean isEmpty() {
+        return locations.isEmpty() && tags.isEmpty() && companies.isEmpty() && geo.isEmpty();
+    }
+
+    static String key(String value) {
+        return value == null ? "" : TextNormalizer.normalize(value.trim());
+    }
+
+    private static Set<String> keys(Collection<String> values) {
+        if (values == null || values.isEmpty()) return Set.of();
+        Set<String> keys = new LinkedHashSet<>();
+        for (String v : values) {
+            String k = key(v);
+            if (!k.isEmpty()) keys.add(k);
+        }
+        return keys;
+    }
+}
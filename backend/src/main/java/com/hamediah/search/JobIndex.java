@@ -0,0 +1,16 @@
+package com.hamediah.search;
+
+/**
+ * Ein In-Memory-Index über Jobs. {@link JobIndexer} baut alle Implementierungen beim Start
+ * gemeinsam auf und reicht jede Job-Änderung an sie weiter.
+ */
+public interface JobIndex {
+
+    void index(JobIndexEntry entry);
+
+    void remove(Long jobId);
+
+    /** Wird aufgerufen, sobald der initiale Aufbau abgeschlossen ist. */
+    default void onRebuilt() {
+    }
+}
@@ -0,0 +1,16 @@
+package com.hamediah.search;
+
+import com.hamediah.domain.Job;
+
+/**
+ * Die Felder eines Jobs, die die In-Memory-Indizes brauchen (ohne Beschreibung).
+ */
+public record JobIndexEntry(Long id, String title, String companyName, String tags, String location,
+                            Double latitude, Double longitude) {
+
+    public static JobIndexEntry from(Job job) {
+        return new JobIndexEntry(job.getId(), job.getTitle(),
+                job.getCompany() != null ? job.getCompany().getName() : null,
+                job.getTags(), job.getLocation(), job.getLatitude(), job.getLongitude());
+    }
+}
@@ -0,0 +1,121 @@
+package com.hamediah.search;
+
+import com.hamediah.domain.Job;
+import com.hamediah.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verteilt Job-Änderungen an alle {@link JobIndex}-Beans und baut sie beim Start
+ * mit einem einzigen Durchlauf über die Tabelle {@code job} auf. Innerhalb einer Transaktion
+ * werden Änderungen erst nach dem Commit angewendet, damit ein Rollback keine Jobs im Index
+ * hinterlässt, die es nicht gibt (oder entfernt, die es noch gibt).
+ * <p>
+ * Der Aufbau läuft, während Tomcat schon Anfragen bedient. Änderungen aus dieser Zeit werden
+ * gepuffert und nach dem Durchlauf nachgespielt; sonst könnte eine ältere Zeile aus dem
+ * Snapshot eine neuere Änderung überschreiben oder einen gelöschten Job zurückbringen.
+ */
+@Component
+public class JobIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(JobIndexer.class);
+
+    private final JobRepository repo;
+    private final TransactionTemplate tx;
+    private final List<JobIndex> indexes;
+    private final Object rebuildLock = new Object();
+    // Nicht null, solange rebuild() läuft
+    private List<Runnable> deferred;
+
+    public JobIndexer(JobRepository repo, TransactionTemplate tx, List<JobIndex> indexes) {
+        this.repo = repo;
+        this.tx = tx;
+        this.indexes = indexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        // Vor dem Snapshot puffern: alles, was danach committet wird, spielt replay() nach
+        synchronized (rebuildLock) {
+            deferred = new ArrayList<>();
+        }
+        try {
+            tx.executeWithoutResult(status -> {
+                try (var entries = repo.streamIndexEntries()) {
+                    entries.forEach(entry -> {
+                        apply(entry);
+                        count.incrementAndGet();
+                    });
+                }
+            });
+        } finally {
+            replay();
+        }
+        indexes.forEach(JobIndex::onRebuilt);
+        log.info("Built {} job indexes over {} jobs in {} ms",
+                indexes.size(), count.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Unter dem Lock, damit keine Änderung zwischen Nachspielen und Abschalten des Puffers durchrutscht
+    private void replay() {
+        synchronized (rebuildLock) {
+            if (!deferred.isEmpty()) log.info("Replaying {} job index changes from during the rebuild", deferred.size());
+            for (Runnable change : deferred) change.run();
+            deferred = null;
+        }
+    }
+
+    private void applyOrDefer(Runnable change) {
+        synchronized (rebuildLock) {
+            if (deferred != null) {
+                deferred.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    // Der Eintrag wird sofort gebaut: nach dem Commit ist die Session zu, Lazy-Felder wären nicht mehr ladbar
+    public void index(Job job) {
+        index(JobIndexEntry.from(job));
+    }
+
+    public void index(JobIndexEntry entry) {
+        afterCommit(() -> applyOrDefer(() -> apply(entry)));
+    }
+
+    public void remove(Long jobId) {
+        afterCommit(() -> applyOrDefer(() -> {
+            for (JobIndex index : indexes) index.remove(jobId);
+        }));
+    }
+
+    private void apply(JobIndexEntry entry) {
+        for (JobIndex index : indexes) index.index(entry);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
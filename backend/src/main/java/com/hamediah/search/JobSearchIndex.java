@@ -0,0 +1,170 @@
+package com.hamediah.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory-Invertierter Index über Titel, Firmenname, Ort und Tags.
+ * Wird beim Start über {@link JobIndexer} aufgebaut und bei jedem Schreibvorgang
+ * inkrementell aktualisiert.
+ */
+@Component
+public class JobSearchIndex implements JobIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float COMPANY_WEIGHT = 2.0f;
+    private static final float TAGS_WEIGHT = 1.5f;
+    private static final float LOCATION_WEIGHT = 1.0f;
+    // Präfix-Treffer ("jav" -> "java") zählen weniger als exakte Treffer
+    private static final float PREFIX_FACTOR = 0.5f;
+    // Ein Präfix erweitert auf höchstens so viele Terme, und zwar die mit den meisten Jobs;
+    // seltenere Terme fallen bei kurzen Präfixen wie "e" weg. Der exakte Term zählt immer.
+    private static final int MAX_PREFIX_EXPANSION = 64;
+
+    // Term -> (Job-ID -> gewichtete Häufigkeit)
+    private final NavigableMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+    // Job-ID -> Terme, damit Updates/Deletes die alten Postings entfernen können
+    private final Map<Long, Map<String, Float>> documents = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Override
+    public void onRebuilt() {
+        ready = true;
+        log.info("Job search index ready: {} jobs, {} terms", documents.size(), postings.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(JobIndexEntry entry) {
+        Long jobId = entry.id();
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, entry.title(), TITLE_WEIGHT);
+        addField(terms, entry.companyName(), COMPANY_WEIGHT);
+        addField(terms, entry.tags(), TAGS_WEIGHT);
+        addField(terms, entry.location(), LOCATION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+            terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(jobId, weight));
+            documents.put(jobId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Liefert die IDs aller Jobs, die jeden Suchbegriff (exakt oder als Präfix) enthalten,
+     * absteigend nach Relevanz (feldgewichtete Häufigkeit × IDF).
+     */
+    public List<Long> search(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) return Collections.emptyList();
+
+        lock.readLock().lock();
+        try {
+            int total = Math.max(documents.size(), 1);
+            Map<Long, Float> scores = null;
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = scoreToken(token, total);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> e : scores.entrySet()) {
+                        Float s = tokenScores.get(e.getKey());
+                        if (s != null) merged.put(e.getKey(), e.getValue() + s);
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) return Collections.emptyList();
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey(Collections.reverseOrder())));
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Float> e : ranked) ids.add(e.getKey());
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> scoreToken(String token, int total) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<Long, Float> exact = postings.get(token);
+        if (exact != null) score(scores, exact, total, 1.0f);
+        for (Map<Long, Float> docs : largestExpansions(token)) score(scores, docs, total, PREFIX_FACTOR);
+        return scores;
+    }
+
+    // Min-Heap nach Postinglänge: ein Durchlauf über die passenden Terme, O(Terme · log Grenze)
+    private List<Map<Long, Float>> largestExpansions(String token) {
+        PriorityQueue<Map<Long, Float>> largest = new PriorityQueue<>(
+                MAX_PREFIX_EXPANSION + 1, (a, b) -> Integer.compare(a.size(), b.size()));
+        for (Map.Entry<String, Map<Long, Float>> entry
+                : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            Map<Long, Float> docs = entry.getValue();
+            if (largest.size() < MAX_PREFIX_EXPANSION) {
+                largest.add(docs);
+            } else if (docs.size() > largest.peek().size()) {
+                largest.poll();
+                largest.add(docs);
+            }
+        }
+        return new ArrayList<>(largest);
+    }
+
+    private static void score(Map<Long, Float> scores, Map<Long, Float> docs, int total, float factor) {
+        float idf = (float) Math.log(1.0 + (double) total / Math.max(docs.size(), 1));
+        docs.forEach((id, weight) -> scores.merge(id, weight * idf * factor, Math::max));
+    }
+
+    private void removeInternal(Long jobId) {
+        Map<String, Float> old = documents.remove(jobId);
+        if (old == null) return;
+        for (String term : old.keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs == null) continue;
+            docs.remove(jobId);
+            if (docs.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private static void addField(Map<String, Float> terms, String value, float weight) {
+        for (String token : TextNormalizer.tokenize(value)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+}
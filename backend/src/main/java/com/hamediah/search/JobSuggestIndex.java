@@ -0,0 +1,169 @@
+package com.hamediah.search;
+
+import com.hamediah.dto.Suggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Vorschläge für die Sucheingabe: normalisierte Titel, Firmennamen und Orte (Deutsch, Englisch,
+ * Arabisch über {@link TextNormalizer}) in einem {@link PrefixTrie}. Jede Phrase ist unter ihrem
+ * Anfang und unter jedem weiteren Wortanfang erreichbar ("java" findet "Senior Java Developer")
+ * und wird nach der Anzahl der Jobs gewichtet, in denen sie vorkommt.
+ */
+@Component
+public class JobSuggestIndex implements JobIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSuggestIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+    // Nur die ersten Wortanfänge einer Phrase indexieren, begrenzt den Speicher bei langen Titeln
+    private static final int MAX_WORD_STARTS = 4;
+
+    public enum Kind {
+        TITLE, COMPANY, LOCATION;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final PrefixTrie<Phrase> trie = new PrefixTrie<>(MAX_SUGGESTIONS);
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    // Job-ID -> Phrasen des Jobs, damit Updates/Deletes die Gewichte zurücknehmen können
+    private final Map<Long, List<Phrase>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void onRebuilt() {
+        lock.readLock().lock();
+        try {
+            log.info("Job suggest index ready: {} phrases, {} trie nodes", phrases.size(), trie.nodeCount());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(JobIndexEntry entry) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(entry.id());
+            List<Phrase> own = new ArrayList<>(3);
+            addPhrase(own, Kind.TITLE, entry.title());
+            addPhrase(own, Kind.COMPANY, entry.companyName());
+            addPhrase(own, Kind.LOCATION, entry.location());
+            if (!own.isEmpty()) documents.put(entry.id(), own);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Die häufigsten Phrasen, deren Anfang oder einer deren Wortanfänge mit dem Präfix beginnt.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) return List.of();
+        lock.readLock().lock();
+        try {
+            List<Suggestion> result = new ArrayList<>();
+            for (Phrase p : trie.complete(key, Math.min(limit, MAX_SUGGESTIONS))) {
+                result.add(new Suggestion(p.label, p.kind.key(), p.weight));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPhrase(List<Phrase> own, Kind kind, String text) {
+        String key = normalize(text);
+        if (key.isEmpty()) return;
+        Phrase phrase = phrases.get(kind.ordinal() + key);
+        if (phrase == null) {
+            phrase = new Phrase(kind, key, text.trim());
+            phrases.put(kind.ordinal() + key, phrase);
+            phrase.weight = 1;
+            for (String k : phrase.keys()) trie.add(k, phrase);
+        } else {
+            phrase.weight++;
+            trie.reweigh(phrase.keys(), phrase, true);
+        }
+        own.add(phrase);
+    }
+
+    private void removeInternal(Long jobId) {
+        List<Phrase> old = documents.remove(jobId);
+        if (old == null) return;
+        for (Phrase phrase : old) {
+            phrase.weight--;
+            if (phrase.weight <= 0) {
+                phrases.remove(phrase.kind.ordinal() + phrase.key);
+                trie.remove(phrase.keys(), phrase);
+            } else {
+                trie.reweigh(phrase.keys(), phrase, false);
+            }
+        }
+    }
+
+    // Tokens mit einfachem Leerzeichen verbunden, damit Eingabe und Index gleich aussehen
+    private static String normalize(String text) {
+        return String.join(" ", TextNormalizer.tokenize(text));
+    }
+
+    private static final class Phrase implements PrefixTrie.Weighted {
+        final Kind kind;
+        final String key;
+        final String label;
+        int weight;
+
+        Phrase(Kind kind, String key, String label) {
+            this.kind = kind;
+            this.key = key;
+            this.label = label;
+        }
+
+        // Die Phrase selbst und die Reststücke ab den folgenden Wortanfängen
+        Set<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(key);
+            int starts = 1;
+            for (int i = key.indexOf(' '); i >= 0 && starts < MAX_WORD_STARTS; i = key.indexOf(' ', i + 1)) {
+                keys.add(key.substring(i + 1));
+                starts++;
+            }
+            return keys;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+        @Override
+        public String label() {
+            return label;
+        }
+    }
+}
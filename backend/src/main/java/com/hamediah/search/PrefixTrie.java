@@ -0,0 +1,315 @@
+package com.hamediah.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Radix-Trie (Kanten mit mehreren Zeichen) mit vorberechneten Top-k-Einträgen pro Knoten.
+ * Eine Abfrage läuft nur den Präfix entlang und liest die Top-Liste des erreichten Knotens,
+ * unabhängig davon, wie viele Begriffe darunter liegen. Änderungen aktualisieren die Top-Listen
+ * entlang der betroffenen Pfade von unten nach oben. Ein Eintrag kann unter mehreren Schlüsseln
+ * hängen; Entfernen und Abwerten behandeln deshalb alle seine Schlüssel in einem Durchgang,
+ * damit gemeinsame Vorfahren erst nach allen tieferen Knoten neu berechnet werden.
+ * <p>
+ * Nicht threadsicher; {@link JobSuggestIndex} synchronisiert die Zugriffe.
+ */
+final class PrefixTrie<E extends PrefixTrie.Weighted> {
+
+    interface Weighted {
+        int weight();
+
+        String label();
+    }
+
+    private static final Object[] NONE = new Object[0];
+
+    private final int k;
+    private final Comparator<E> order = Comparator.comparingInt((E e) -> e.weight()).reversed()
+            .thenComparing(E::label);
+    private final Node root = new Node("");
+    private int nodes = 1;
+
+    PrefixTrie(int k) {
+        this.k = k;
+    }
+
+    int nodeCount() {
+        return nodes;
+    }
+
+    /** Die höchstens {@code limit} (≤ k) schwersten Einträge unter dem Präfix. */
+    @SuppressWarnings("unchecked")
+    List<E> complete(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) return List.of();
+            int common = commonPrefix(child.edge, prefix, i);
+            // Präfix endet mitten in der Kante: alles unter diesem Kind passt
+            if (i + common == prefix.length()) return top(child, limit);
+            if (common < child.edge.length()) return List.of();
+            i += common;
+            node = child;
+        }
+        return top(node, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> top(Node node, int limit) {
+        int n = Math.min(limit, node.top.length);
+        List<E> result = new ArrayList<>(n);
+        for (int j = 0; j < n; j++) result.add((E) node.top[j]);
+        return result;
+    }
+
+    void add(String key, E entry) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(key.substring(i));
+                node.addChild(leaf);
+                nodes++;
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                // Kante aufteilen: node -> mid -> child
+                Node mid = new Node(child.edge.substring(0, common));
+                node.replaceChild(mid);
+                child.edge = child.edge.substring(common);
+                mid.children = new Node[]{child};
+                mid.top = child.top;
+                nodes++;
+                child = mid;
+            }
+            i += common;
+            node = child;
+            path.add(node);
+        }
+        node.terminals = append(node.terminals, entry);
+        promote(path, entry);
+    }
+
+    /** Entfernt den Eintrag unter allen seinen Schlüsseln. */
+    void remove(Collection<String> keys, E entry) {
+        List<List<Node>> paths = paths(keys);
+        for (List<Node> path : paths) {
+            Node node = path.get(path.size() - 1);
+            node.terminals = without(node.terminals, entry);
+        }
+        demote(paths, entry);
+        // Erst nach dem Neuberechnen aufräumen: Verschmelzen ändert Knoten anderer Pfade
+        for (String key : keys) {
+            List<Node> path = find(key);
+            if (path != null) prune(path);
+        }
+    }
+
+    /** Nach einer Gewichtsänderung des Eintrags die Top-Listen entlang aller seiner Schlüssel anpassen. */
+    void reweigh(Collection<String> keys, E entry, boolean increased) {
+        List<List<Node>> paths = paths(keys);
+        if (increased) {
+            for (List<Node> path : paths) promote(path, entry);
+        } else {
+            demote(paths, entry);
+        }
+    }
+
+    private List<List<Node>> paths(Collection<String> keys) {
+        List<List<Node>> paths = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            List<Node> path = find(key);
+            if (path != null) paths.add(path);
+        }
+        return paths;
+    }
+
+    private List<Node> find(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) return null;
+            i += child.edge.length();
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Leere Knoten entfernen und Knoten mit genau einem Kind mit diesem verschmelzen
+    private void prune(List<Node> path) {
+        for (int j = path.size() - 1; j > 0; j--) {
+            Node node = path.get(j);
+            if (node.terminals.length > 0) return;
+            Node parent = path.get(j - 1);
+            if (node.children.length == 0) {
+                parent.removeChild(node);
+                path.remove(j);
+                nodes--;
+            } else if (node.children.length == 1) {
+                Node only = node.children[0];
+                node.edge = node.edge + only.edge;
+                node.children = only.children;
+                node.terminals = only.terminals;
+                node.top = only.top;
+                nodes--;
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Eintrag ist neu oder schwerer geworden: in die Top-Listen einsortieren. Verdrängte Einträge
+     * stehen weiterhin in den Top-Listen der Kinder, die Listen bleiben also exakt.
+     */
+    @SuppressWarnings("unchecked")
+    private void promote(List<Node> path, E entry) {
+        for (int j = path.size() - 1; j >= 0; j--) {
+            Node node = path.get(j);
+            Object[] top = without(node.top, entry);
+            if (top.length == k && order.compare(entry, (E) top[k - 1]) >= 0) return;
+            int pos = 0;
+            while (pos < top.length && order.compare((E) top[pos], entry) < 0) pos++;
+            Object[] updated = new Object[Math.min(top.length + 1, k)];
+            System.arraycopy(top, 0, updated, 0, pos);
+            updated[pos] = entry;
+            System.arraycopy(top, pos, updated, pos + 1, updated.length - pos - 1);
+            node.top = updated;
+        }
+    }
+
+    /**
+     * Eintrag ist leichter geworden oder entfernt: nur Knoten, deren Top-Liste ihn enthält,
+     * werden aus Terminals und den Top-Listen der Kinder neu berechnet. Die Knoten aller Pfade
+     * werden nach Tiefe absteigend abgearbeitet, sodass jeder Knoten erst an der Reihe ist, wenn
+     * alle betroffenen Kinder schon stimmen. Kein vorzeitiger Abbruch: ein gemeinsamer Vorfahr
+     * kann über einen anderen Schlüssel noch betroffen sein.
+     */
+    @SuppressWarnings("unchecked")
+    private void demote(List<List<Node>> paths, E entry) {
+        Map<Node, Integer> depths = new IdentityHashMap<>();
+        for (List<Node> path : paths) {
+            for (int j = 0; j < path.size(); j++) depths.put(path.get(j), j);
+        }
+        List<Node> deepestFirst = new ArrayList<>(depths.keySet());
+        deepestFirst.sort(Comparator.comparingInt((Node n) -> depths.get(n)).reversed());
+        for (Node node : deepestFirst) {
+            if (!contains(node.top, entry)) continue;
+            // Ein Eintrag kann unter mehreren Schlüsseln hängen (Wortanfänge), daher deduplizieren
+            Map<Object, Boolean> seen = new IdentityHashMap<>();
+            List<E> candidates = new ArrayList<>();
+            for (Object e : node.terminals) if (seen.put(e, Boolean.TRUE) == null) candidates.add((E) e);
+            for (Node child : node.children) {
+                for (Object e : child.top) if (seen.put(e, Boolean.TRUE) == null) candidates.add((E) e);
+            }
+            candidates.sort(order);
+            node.top = candidates.size() > k ? candidates.subList(0, k).toArray() : candidates.toArray();
+        }
+    }
+
+    private static boolean contains(Object[] array, Object value) {
+        for (Object o : array) if (o == value) return true;
+        return false;
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && edge.charAt(n) == key.charAt(offset + n)) n++;
+        return n;
+    }
+
+    private static Object[] append(Object[] array, Object value) {
+        for (Object o : array) if (o == value) return array;
+        Object[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = value;
+        return copy;
+    }
+
+    private static Object[] without(Object[] array, Object value) {
+        for (int j = 0; j < array.length; j++) {
+            if (array[j] != value) continue;
+            if (array.length == 1) return NONE;
+            Object[] copy = new Object[array.length - 1];
+            System.arraycopy(array, 0, copy, 0, j);
+            System.arraycopy(array, j + 1, copy, j, array.length - j - 1);
+            return copy;
+        }
+        return array;
+    }
+
+    /**
+     * Kinder als nach erstem Zeichen sortiertes Array (Binärsuche), Einträge als {@code Object[]},
+     * damit ein Knoten ohne Collections-Overhead auskommt.
+     */
+    private static final class Node {
+        private static final Node[] LEAF = new Node[0];
+
+        String edge;
+        Node[] children = LEAF;
+        Object[] terminals = NONE;
+        Object[] top = NONE;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node child(char c) {
+            int j = indexOf(c);
+            return j >= 0 ? children[j] : null;
+        }
+
+        void addChild(Node child) {
+            int j = -indexOf(child.edge.charAt(0)) - 1;
+            Node[] copy = new Node[children.length + 1];
+            System.arraycopy(children, 0, copy, 0, j);
+            copy[j] = child;
+            System.arraycopy(children, j, copy, j + 1, children.length - j);
+            children = copy;
+        }
+
+        // Ersetzt das Kind mit demselben ersten Zeichen
+        void replaceChild(Node replacement) {
+            children[indexOf(replacement.edge.charAt(0))] = replacement;
+        }
+
+        void removeChild(Node child) {
+            int j = indexOf(child.edge.charAt(0));
+            if (j < 0) return;
+            Node[] copy = new Node[children.length - 1];
+            System.arraycopy(children, 0, copy, 0, j);
+            System.arraycopy(children, j + 1, copy, j, children.length - j - 1);
+            children = copy;
+        }
+
+        private int indexOf(char c) {
+            int lo = 0;
+            int hi = children.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char m = children[mid].edge.charAt(0);
+                if (m < c) lo = mid + 1;
+                else if (m > c) hi = mid - 1;
+                else return mid;
+            }
+            return -(lo + 1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.hamediah.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalisiert englischen und arabischen Text für den Suchindex.
+ * Entfernt Diakritika (inkl. Tashkeel und Tatweel) und vereinheitlicht
+ * Alef-, Ya- und Ta-Marbuta-Varianten, damit "مُهَنْدِس" und "مهندس" bzw.
+ * "Café" und "cafe" auf denselben Term fallen.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) return "";
+        // NFD zerlegt auch أ/إ/آ in Alef + Hamza/Madda, die danach als Mark wegfallen
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            switch (c) {
+                case 'ـ' -> { } // Tatweel
+                case 'ٱ' -> sb.append('ا'); // Alef Wasla -> Alef
+                case 'ى' -> sb.append('ي'); // Alef Maksura -> Ya
+                case 'ة' -> sb.append('ه'); // Ta Marbuta -> Ha
+                default -> sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Zerlegt den Text in normalisierte Tokens (Buchstaben/Ziffern-Folgen).
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean word = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hamediah.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamediah.domain.Application;
+import com.hamediah.repository.ApplicationRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportiert alle Bewerbungen eines Jobs zeilenweise als CSV oder NDJSON.
+ * Die Zeilen kommen über einen Datenbank-Cursor und werden nach dem Schreiben
+ * sofort aus dem Persistence Context entfernt, der Speicherbedarf bleibt konstant.
+ */
+@Service
+public class ApplicationExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] CSV_HEADER = {
+            "id", "jobId", "applicantName", "applicantEmail", "coverLetter", "resumeUrl", "createdAt"
+    };
+
+    private final ApplicationRepository applicationRepo;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+
+    public ApplicationExportService(ApplicationRepository applicationRepo, EntityManager em, ObjectMapper mapper) {
+        this.applicationRepo = applicationRepo;
+        this.em = em;
+        this.mapper = mapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long jobId, Format format, OutputStream out) throws IOException {
+        try (Stream<Application> rows = applicationRepo.streamByJobId(jobId)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<Application> rows, OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        w.write(String.join(",", CSV_HEADER));
+        w.write("\r\n");
+        while (rows.hasNext()) {
+            Application a = rows.next();
+            w.write(String.valueOf(a.getId()));
+            w.write(',');
+            w.write(String.valueOf(a.getJob().getId()));
+            w.write(',');
+            csvField(w, a.getApplicantName());
+            w.write(',');
+            csvField(w, a.getApplicantEmail());
+            w.write(',');
+            csvField(w, a.getCoverLetter());
+            w.write(',');
+            csvField(w, a.getResumeUrl());
+            w.write(',');
+            w.write(String.valueOf(a.getCreatedAt()));
+            w.write("\r\n");
+            em.detach(a);
+        }
+        w.flush();
+    }
+
+    private void writeNdjson(Iterator<Application> rows, OutputStream out) throws IOException {
+        JsonGenerator gen = mapper.getFactory().createGenerator(out);
+        // Nach jedem Objekt ein Zeilenumbruch statt des Standard-Trenners
+        gen.setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            Application a = rows.next();
+            gen.writeStartObject();
+            gen.writeNumberField("id", a.getId());
+            gen.writeNumberField("jobId", a.getJob().getId());
+            gen.writeStringField("applicantName", a.getApplicantName());
+            gen.writeStringField("applicantEmail", a.getApplicantEmail());
+            gen.writeStringField("coverLetter", a.getCoverLetter());
+            gen.writeStringField("resumeUrl", a.getResumeUrl());
+            gen.writeStringField("createdAt", String.valueOf(a.getCreatedAt()));
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+            em.detach(a);
+        }
+        gen.flush();
+    }
+
+    // Bewerberdaten: Werte, die eine Tabellenkalkulation als Formel ausführen würde
+    // (=, +, -, @, Tab, CR am Anfang), bekommen ein ' vorangestellt und werden gequotet
+    private static void csvField(Writer w, String value) throws IOException {
+        if (value == null) return;
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) value = "'" + value;
+        boolean quote = value.startsWith("'") || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+}
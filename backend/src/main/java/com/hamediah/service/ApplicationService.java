@@ -1,51 +1,123 @@
 package com.hamediah.service;
 
+import com.hamediah.bloom.ApplicantBloomFilter;
+import com.hamediah.datasource.ReadYourWrites;
 import com.hamediah.domain.Application;
-import com.hamediah.domain.Job;
+import com.hamediah.notification.MailOutbox;
+import com.hamediah.paging.Cursor;
+import com.hamediah.paging.CursorPage;
 import com.hamediah.repository.ApplicationRepository;
 import com.hamediah.repository.JobRepository;
+import com.hamediah.stats.ApplicationCounters;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
+// Timer pro Methode (Tags class/method/exception), siehe MetricsConfig
+@Timed(value = "hamediah.service", histogram = true)
 @Service
 public class ApplicationService {
+    private static final String UNIQUE_JOB_EMAIL = "uq_application_job_email";
+    private static final String JOB_FOREIGN_KEY = "application_job_id_fkey";
+
     private final ApplicationRepository applicationRepo;
     private final JobRepository jobRepo;
+    private final ApplicantBloomFilter applicantFilter;
+    private final ReadYourWrites readYourWrites;
+    private final ApplicationCounters counters;
+    private final MailOutbox mailOutbox;
 
-    public ApplicationService(ApplicationRepository applicationRepo, JobRepository jobRepo) {
+    public ApplicationService(ApplicationRepository applicationRepo, JobRepository jobRepo,
+                              ApplicantBloomFilter applicantFilter, ReadYourWrites readYourWrites,
+                              ApplicationCounters counters, MailOutbox mailOutbox) {
         this.applicationRepo = applicationRepo;
         this.jobRepo = jobRepo;
+        this.applicantFilter = applicantFilter;
+        this.readYourWrites = readYourWrites;
+        this.counters = counters;
+        this.mailOutbox = mailOutbox;
     }
 
+    /**
+     * Ein einziges INSERT: Existenz des Jobs und Eindeutigkeit pro E-Mail prüft die Datenbank
+     * (Foreign Key bzw. {@value #UNIQUE_JOB_EMAIL}), ohne vorherige Abfragen und ohne Race.
+     *
+     * @throws DuplicateApplicationException wenn bereits eine Bewerbung existiert
+     */
+    @Transactional
     public Application submitApplication(Long jobId, String applicantName, String applicantEmail, String coverLetter, String resumeUrl) {
-        // Check if job exists
-        Optional<Job> job = jobRepo.findById(jobId);
-        if (job.isEmpty()) {
-            throw new RuntimeException("Job not found");
-        }
-
-        // Check if user already applied
-        if (applicationRepo.existsByJobIdAndApplicantEmail(jobId, applicantEmail)) {
-            throw new RuntimeException("You have already applied for this job");
-        }
-
         Application application = new Application();
-        application.setJob(job.get());
+        application.setJob(jobRepo.getReferenceById(jobId));
         application.setApplicantName(applicantName);
         application.setApplicantEmail(applicantEmail);
         application.setCoverLetter(coverLetter);
         application.setResumeUrl(resumeUrl);
 
-        return applicationRepo.save(application);
+        Application saved;
+        try {
+            saved = applicationRepo.saveAndFlush(application);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = constraintName(e);
+            if (UNIQUE_JOB_EMAIL.equals(constraint)) {
+                applicantFilter.add(jobId, applicantEmail);
+                throw new DuplicateApplicationException();
+            }
+            if (JOB_FOREIGN_KEY.equals(constraint)) throw new RuntimeException("Job not found");
+            throw e;
+        }
+        // Benachrichtigung des Arbeitgebers in derselben Transaktion vormerken
+        mailOutbox.applicationsReceived(List.of(saved.getId()));
+        applicantFilter.add(jobId, applicantEmail);
+        counters.applied(jobId);
+        readYourWrites.written();
+        return saved;
+    }
+
+    // Constraint-Name bevorzugt aus dem Fehlerfeld des Servers: Hibernate liest ihn aus dem
+    // (englischen) Meldungstext, den der Job-Trigger aus V10 nicht liefert
+    private static String constraintName(Throwable e) {
+        String fromHibernate = null;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof PSQLException psql) {
+                ServerErrorMessage message = psql.getServerErrorMessage();
+                if (message != null && message.getConstraint() != null) return message.getConstraint();
+            }
+            if (t instanceof ConstraintViolationException cve && fromHibernate == null) {
+                fromHibernate = cve.getConstraintName();
+            }
+        }
+        return fromHibernate;
     }
 
+    // readOnly: darf bei aktiviertem Replica-Routing von einem Replica lesen (siehe ReplicaRoutingConfig)
+    @Transactional(readOnly = true)
     public List<Application> getApplicationsForJob(Long jobId) {
         return applicationRepo.findByJobIdOrderByCreatedAtDesc(jobId);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Application> getApplicationsForJob(Long jobId, String cursor, int limit) {
+        List<Application> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = applicationRepo.findFirstPageByJobId(jobId, Limit.of(limit + 1));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            rows = applicationRepo.findPageByJobIdAfter(jobId, after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+        return CursorPage.of(rows, limit, a -> new Cursor(a.getCreatedAt(), a.getId()));
+    }
+
+    @Transactional(readOnly = true)
     public boolean hasUserApplied(Long jobId, String applicantEmail) {
+        // Bloom-Filter: "nein" ist sicher, nur bei "vielleicht" fragen wir die Datenbank
+        if (!applicantFilter.mightHaveApplied(jobId, applicantEmail)) return false;
         return applicationRepo.existsByJobIdAndApplicantEmail(jobId, applicantEmail);
     }
 }
\ No newline at end of file
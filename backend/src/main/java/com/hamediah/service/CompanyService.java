@@ -0,0 +1,78 @@
+package com.hamediah.service;
+
+import com.hamediah.config.CacheConfig;
+import com.hamediah.datasource.ReadYourWrites;
+import com.hamediah.domain.Company;
+import com.hamediah.repository.CompanyRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Anlegen und Ändern von Firmen. Der Name bleibt nach dem Anlegen fest (Importe und die
+ * Suchindizes referenzieren Firmen über den Namen); änderbar sind Website und Kontaktadresse.
+ */
+@Service
+public class CompanyService {
+
+    // Grobe Plausibilitätsprüfung, die eigentliche Prüfung macht der SMTP-Server
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private final CompanyRepository repo;
+    private final ReadYourWrites readYourWrites;
+
+    public CompanyService(CompanyRepository repo, ReadYourWrites readYourWrites) {
+        this.repo = repo;
+        this.readYourWrites = readYourWrites;
+    }
+
+    /**
+     * @throws IllegalArgumentException ohne Namen oder bei ungültiger Kontaktadresse
+     * @throws org.springframework.dao.DataIntegrityViolationException wenn der Name schon vergeben ist
+     */
+    @Transactional
+    public Company createCompany(String name, String website, String contactEmail) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Company name is required");
+        Company company = new Company();
+        company.setName(name.trim());
+        company.setWebsite(blankToNull(website));
+        company.setContactEmail(email(contactEmail));
+        Company saved = repo.saveAndFlush(company);
+        readYourWrites.written();
+        return saved;
+    }
+
+    /**
+     * Ändert Website und Kontaktadresse. Jobs liefern die Firma eingebettet aus, daher werden
+     * die Job-Caches geleert.
+     *
+     * @throws IllegalArgumentException bei ungültiger Kontaktadresse
+     */
+    @CacheEvict(cacheNames = {CacheConfig.JOBS, CacheConfig.RECENT_JOBS, CacheConfig.PAGES}, allEntries = true)
+    @Transactional
+    public Optional<Company> updateCompany(Long id, String website, String contactEmail) {
+        String email = email(contactEmail);
+        Optional<Company> company = repo.findById(id);
+        company.ifPresent(c -> {
+            c.setWebsite(blankToNull(website));
+            c.setContactEmail(email);
+            readYourWrites.written();
+        });
+        return company;
+    }
+
+    private static String email(String value) {
+        String email = blankToNull(value);
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            throw new IllegalArgumentException("Invalid contact email: " + email);
+        }
+        return email;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
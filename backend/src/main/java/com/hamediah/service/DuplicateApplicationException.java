@@ -0,0 +1,11 @@
+package com.hamediah.service;
+
+/**
+ * Es existiert bereits eine Bewerbung derselben E-Mail-Adresse auf diesen Job
+ * (Unique-Constraint {@code uq_application_job_email}).
+ */
+public class DuplicateApplicationException extends RuntimeException {
+    public DuplicateApplicationException() {
+        super("You have already applied for this job");
+    }
+}
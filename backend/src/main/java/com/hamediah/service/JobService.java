@@ -1,37 +1,316 @@
 package com.hamediah.service;
 
+import com.hamediah.analytics.JobViewAggregator;
+import com.hamediah.bloom.ApplicantBloomFilter;
+import com.hamediah.config.CacheConfig;
+import com.hamediah.datasource.ReadYourWrites;
 import com.hamediah.domain.Job;
 import com.hamediah.domain.Company;
+import com.hamediah.dto.CompanyJobs;
+import com.hamediah.dto.FacetCount;
+import com.hamediah.dto.JobStats;
+import com.hamediah.dto.JobSummary;
+import com.hamediah.dto.PopularJob;
+import com.hamediah.dto.TrendingJob;
+import com.hamediah.geo.Gazetteer;
+import com.hamediah.geo.GeoPoint;
+import com.hamediah.opensearch.JobOutbox;
+import com.hamediah.paging.Cursor;
+import com.hamediah.paging.CursorPage;
 import com.hamediah.repository.JobRepository;
 import com.hamediah.repository.CompanyRepository;
+import com.hamediah.search.JobFacetIndex;
+import com.hamediah.search.JobFilter;
+import com.hamediah.search.JobIndexer;
+import com.hamediah.search.JobSearchIndex;
+import com.hamediah.stats.ApplicationCounters;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+// Timer pro Methode (Tags class/method/exception), siehe MetricsConfig
+@Timed(value = "hamediah.service", histogram = true)
 @Service
 public class JobService {
+    private static final int RECENT_LIMIT = 20;
+    // Obergrenze für search(): breite Begriffe wie "e" treffen fast den ganzen Katalog
+    static final int SEARCH_LIMIT = CursorPage.MAX_LIMIT;
+    private static final int FACET_TOP = 20;
+    /** Höchstzahl IDs pro {@link #findByIds(List)}. */
+    public static final int MAX_BATCH = 100;
+
     private final JobRepository repo;
     private final CompanyRepository companyRepo;
+    private final JobSearchIndex searchIndex;
+    private final JobFacetIndex facetIndex;
+    private final JobIndexer indexer;
+    private final ApplicantBloomFilter applicantFilter;
+    private final JobOutbox outbox;
+    private final ReadYourWrites readYourWrites;
+    private final ApplicationCounters counters;
+    private final JobViewAggregator views;
+    private final Gazetteer gazetteer;
 
-    public JobService(JobRepository repo, CompanyRepository companyRepo) {
+    public JobService(JobRepository repo, CompanyRepository companyRepo, JobSearchIndex searchIndex,
+                      JobFacetIndex facetIndex, JobIndexer indexer, ApplicantBloomFilter applicantFilter, JobOutbox outbox,
+                      ReadYourWrites readYourWrites, ApplicationCounters counters,
+                      JobViewAggregator views, Gazetteer gazetteer) {
         this.repo = repo;
         this.companyRepo = companyRepo;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.indexer = indexer;
+        this.applicantFilter = applicantFilter;
+        this.outbox = outbox;
+        this.readYourWrites = readYourWrites;
+        this.counters = counters;
+        this.views = views;
+        this.gazetteer = gazetteer;
     }
 
-    public List<Job> recent() {
-        return repo.findTop20ByOrderByCreatedAtDesc();
+    // readOnly: darf bei aktiviertem Replica-Routing von einem Replica lesen (siehe ReplicaRoutingConfig)
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.RECENT_JOBS)
+    public List<JobSummary> recent() {
+        return repo.findRecentSummaries(Limit.of(RECENT_LIMIT));
     }
 
-    public List<Job> search(String q) {
+    /**
+     * Die besten {@value #SEARCH_LIMIT} Treffer; weitere Seiten über {@link #page(String, String, int)}.
+     */
+    @Transactional(readOnly = true)
+    public List<JobSummary> search(String q) {
         if (q == null || q.isBlank()) return recent();
-        return repo.findByTitleContainingIgnoreCaseOrCompany_NameContainingIgnoreCase(q, q);
+        // Bis der Index nach dem Start aufgebaut ist, auf die LIKE-Suche zurückfallen
+        if (!searchIndex.isReady()) {
+            return repo.searchSummaries(q, Limit.of(SEARCH_LIMIT));
+        }
+        List<Long> ids = searchIndex.search(q);
+        return loadRanked(ids.size() > SEARCH_LIMIT ? ids.subList(0, SEARCH_LIMIT) : ids);
+    }
+
+    /**
+     * Seitenweise Liste: ohne Suchbegriff per Keyset über (created_at DESC, id DESC),
+     * mit Suchbegriff entlang des Relevanz-Rankings aus dem Suchindex.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> page(String q, String cursor, int limit) {
+        if (q == null || q.isBlank()) {
+            List<JobSummary> rows;
+            if (cursor == null || cursor.isBlank()) {
+                rows = repo.findFirstPage(Limit.of(limit + 1));
+            } else {
+                Cursor after = Cursor.decode(cursor);
+                rows = repo.findPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+            }
+            return CursorPage.of(rows, limit, job -> new Cursor(job.createdAt(), job.id()));
+        }
+
+        int offset = cursor == null || cursor.isBlank() ? 0 : Cursor.decodeOffset(cursor);
+        if (!searchIndex.isReady()) {
+            // Eine Zeile mehr als nötig zeigt, ob es eine nächste Seite gibt
+            return slice(repo.searchSummaries(q, Limit.of(offset + limit + 1)), offset, limit);
+        }
+        List<Long> ids = searchIndex.search(q);
+        int end = Math.min(offset + limit, ids.size());
+        List<JobSummary> items = offset >= end ? List.of() : loadRanked(ids.subList(offset, end));
+        return new CursorPage<>(items, end < ids.size() ? Cursor.encodeOffset(end) : null);
+    }
+
+    /**
+     * Wie {@link #page(String, String, int)}, zusätzlich gefiltert über den Facetten-Index.
+     * Ohne Suchbegriff wird neueste zuerst über die Ordinalzahlen geblättert, mit Suchbegriff
+     * entlang des gefilterten Relevanz-Rankings.
+     *
+     * @throws IllegalStateException solange der Facetten-Index nach dem Start noch aufgebaut wird
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> page(String q, JobFilter filter, String cursor, int limit) {
+        if (filter.isEmpty()) return page(q, cursor, limit);
+        requireFacets();
+
+        int offset = cursor == null || cursor.isBlank() ? 0 : Cursor.decodeOffset(cursor);
+        if (q == null || q.isBlank()) {
+            JobFacetIndex.Page page = facetIndex.page(filter, offset == 0 ? null : offset, limit, null);
+            return new CursorPage<>(loadRanked(page.ids()),
+                    page.next() != null ? Cursor.encodeOffset(page.next()) : null);
+        }
+        if (!searchIndex.isReady()) throw new IllegalStateException("Search index is not ready");
+        List<Long> ids = facetIndex.retain(searchIndex.search(q), filter);
+        int end = Math.min(offset + limit, ids.size());
+        List<JobSummary> items = offset >= end ? List.of() : loadRanked(ids.subList(offset, end));
+        return new CursorPage<>(items, end < ids.size() ? Cursor.encodeOffset(end) : null);
+    }
+
+    /**
+     * Gefilterte Jobs nach Entfernung zum Mittelpunkt des Geo-Filters, nächste zuerst; mit
+     * Suchbegriff nur unter den Suchtreffern.
+     *
+     * @throws IllegalArgumentException ohne Mittelpunkt oder bei ungültigem Cursor
+     * @throws IllegalStateException solange die Indizes nach dem Start noch aufgebaut werden
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> nearest(String q, JobFilter filter, String cursor, int limit) {
+        requireFacets();
+        List<Long> restrictTo = null;
+        if (q != null && !q.isBlank()) {
+            if (!searchIndex.isReady()) throw new IllegalStateException("Search index is not ready");
+            restrictTo = searchIndex.search(q);
+        }
+        int offset = cursor == null || cursor.isBlank() ? 0 : Cursor.decodeOffset(cursor);
+        JobFacetIndex.Page page = facetIndex.nearest(filter, offset, limit, restrictTo);
+        return new CursorPage<>(loadRanked(page.ids()), page.next() != null ? Cursor.encodeOffset(page.next()) : null);
+    }
+
+    /** Entfernung in km (auf 100 m gerundet) der Jobs mit bekanntem Ort zu {@code center}. */
+    public Map<Long, Double> distances(List<JobSummary> jobs, GeoPoint center) {
+        Map<Long, Double> result = new HashMap<>();
+        facetIndex.distances(jobs.stream().map(JobSummary::id).toList(), center)
+                .forEach((id, km) -> result.put(id, Math.round(km * 10) / 10.0));
+        return result;
+    }
+
+    /**
+     * Facettenzählungen (Ort, Tag, Firma) für Suchbegriff und Filter, je Facette die häufigsten Werte.
+     */
+    public Map<String, List<FacetCount>> facets(String q, JobFilter filter) {
+        requireFacets();
+        List<Long> restrictTo = null;
+        if (q != null && !q.isBlank()) {
+            if (!searchIndex.isReady()) throw new IllegalStateException("Search index is not ready");
+            restrictTo = searchIndex.search(q);
+        }
+        return facetIndex.counts(filter, restrictTo, FACET_TOP);
+    }
+
+    /**
+     * Bewerbungszahl eines Jobs aus den In-Memory-Zählern (siehe ApplicationCounters).
+     */
+    public JobStats stats(Long id) {
+        return new JobStats(id, counters.count(id));
     }
 
+    /**
+     * Rangliste der Jobs mit den meisten Bewerbungen; geladen werden nur die Zusammenfassungen
+     * der Gewinner per Primärschlüssel.
+     */
+    @Transactional(readOnly = true)
+    public List<PopularJob> popular(int limit) {
+        List<ApplicationCounters.Count> top = counters.top(limit);
+        if (top.isEmpty()) return List.of();
+        Map<Long, JobSummary> summaries = new HashMap<>();
+        for (JobSummary summary : repo.findSummariesByIdIn(top.stream().map(ApplicationCounters.Count::jobId).toList())) {
+            summaries.put(summary.id(), summary);
+        }
+        List<PopularJob> result = new ArrayList<>(top.size());
+        for (ApplicationCounters.Count count : top) {
+            JobSummary summary = summaries.get(count.jobId());
+            if (summary != null) result.add(new PopularJob(summary, count.applications()));
+        }
+        return result;
+    }
+
+    /**
+     * Jobs mit dem meisten Besucherinteresse der letzten Stunden (siehe JobViewAggregator).
+     */
+    @Transactional(readOnly = true)
+    public List<TrendingJob> trending(int limit) {
+        List<JobViewAggregator.Trend> top = views.trending(limit);
+        if (top.isEmpty()) return List.of();
+        Map<Long, JobSummary> summaries = new HashMap<>();
+        for (JobSummary summary : repo.findSummariesByIdIn(top.stream().map(JobViewAggregator.Trend::jobId).toList())) {
+            summaries.put(summary.id(), summary);
+        }
+        List<TrendingJob> result = new ArrayList<>(top.size());
+        for (JobViewAggregator.Trend trend : top) {
+            JobSummary summary = summaries.get(trend.jobId());
+            if (summary != null) result.add(new TrendingJob(summary, trend.score()));
+        }
+        return result;
+    }
+
+    private void requireFacets() {
+        if (!facetIndex.isReady()) throw new IllegalStateException("Facet index is not ready");
+    }
+
+    private static CursorPage<JobSummary> slice(List<JobSummary> all, int offset, int limit) {
+        int end = Math.min(offset + limit, all.size());
+        List<JobSummary> items = offset >= end ? List.of() : all.subList(offset, end);
+        return new CursorPage<>(items, end < all.size() ? Cursor.encodeOffset(end) : null);
+    }
+
+    // Lädt die Zusammenfassungen per Primärschlüssel und behält die Reihenfolge des Rankings bei
+    private List<JobSummary> loadRanked(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) rank.put(ids.get(i), i);
+        return repo.findSummariesByIdIn(ids).stream()
+                .sorted(Comparator.comparing(job -> rank.get(job.id())))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.JOBS, key = "#id", unless = "#result == null")
     public Optional<Job> findById(Long id) {
         return repo.findById(id);
     }
 
+    /**
+     * Viele Jobs in einer {@code IN}-Abfrage, in der Reihenfolge von {@code ids}; unbekannte IDs
+     * fehlen im Ergebnis. Archivierte Jobs sind wie bei {@link #findById(Long)} enthalten.
+     *
+     * @throws IllegalArgumentException bei mehr als {@value #MAX_BATCH} IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Job> findByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH) throw new IllegalArgumentException("At most " + MAX_BATCH + " ids per request");
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Job> byId = new HashMap<>();
+        for (Job job : repo.findDetailsByIdIn(ids)) byId.put(job.getId(), job);
+        List<Job> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Job job = byId.get(id);
+            if (job != null) result.add(job);
+        }
+        return result;
+    }
+
+    /**
+     * Firma mit einer Seite ihrer aktiven Jobs, neueste zuerst. Die Firma kommt per join fetch
+     * mit den Jobs; einzeln geladen wird sie nur, wenn die Seite leer ist.
+     *
+     * @throws IllegalArgumentException bei ungültigem Cursor
+     */
+    @Transactional(readOnly = true)
+    public Optional<CompanyJobs> companyJobs(Long companyId, String cursor, int limit) {
+        List<Job> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repo.findCompanyFirstPage(companyId, Limit.of(limit + 1));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            rows = repo.findCompanyPageAfter(companyId, after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+        Optional<Company> company = rows.isEmpty() ? companyRepo.findById(companyId) : Optional.of(rows.get(0).getCompany());
+        CursorPage<JobSummary> page = CursorPage.of(rows, limit, job -> new Cursor(job.getCreatedAt(), job.getId()))
+                .map(JobSummary::of);
+        return company.map(c -> new CompanyJobs(c, page.items(), page.next()));
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.RECENT_JOBS, CacheConfig.PAGES}, allEntries = true)
     public Job createJob(String title, String description, String location, String tags, Long companyId) {
         Optional<Company> company = companyRepo.findById(companyId);
         if (company.isEmpty()) {
@@ -44,10 +323,20 @@ public class JobService {
         job.setLocation(location);
         job.setTags(tags);
         job.setCompany(company.get());
+        gazetteer.geocode(job);
 
-        return repo.save(job);
+        Job saved = repo.save(job);
+        outbox.upserted(saved.getId());
+        indexer.index(saved);
+        readYourWrites.written();
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOBS, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.RECENT_JOBS, CacheConfig.PAGES}, allEntries = true)
+    })
+    @Transactional
     public Job updateJob(Long id, String title, String description, String location, String tags) {
         Optional<Job> existingJob = repo.findById(id);
         if (existingJob.isEmpty()) {
@@ -59,11 +348,33 @@ public class JobService {
         job.setDescription(description);
         job.setLocation(location);
         job.setTags(tags);
+        gazetteer.geocode(job);
 
-        return repo.save(job);
+        Job saved = repo.save(job);
+        outbox.upserted(saved.getId());
+        // Archivierte Jobs bleiben abrufbar, aber außerhalb der Suchindizes
+        if (!saved.isArchived()) indexer.index(saved);
+        readYourWrites.written();
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOBS, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.RECENT_JOBS, CacheConfig.PAGES}, allEntries = true)
+    })
+    @Transactional
     public void deleteJob(Long id) {
         repo.deleteById(id);
+        outbox.deleted(id);
+        indexer.remove(id);
+        // Wie der Index erst nach dem Commit, sonst fehlen die Zähler nach einem Rollback
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applicantFilter.forgetJob(id);
+                counters.forgetJob(id);
+            }
+        });
+        readYourWrites.written();
     }
 }
\ No newline at end of file
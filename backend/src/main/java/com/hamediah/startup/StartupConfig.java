@@ -0,0 +1,43 @@
+package com.hamediah.startup;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.servlet.ViewResolver;
+import org.thymeleaf.ITemplateEngine;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Schnellstart-Profil ({@code fast-start}, siehe application-fast-start.yml): dort werden Beans
+ * erst bei der ersten Verwendung erzeugt (Mail, Import/Export, Lebensläufe, Controller samt Services).
+ * Ausgenommen bleibt, was jeder Request braucht oder beim Start scheitern soll: Datenbank samt
+ * Flyway-Migration und Hibernate-Validierung, Spring Security und Thymeleaf. Beans mit
+ * {@code @Scheduled} nimmt Spring Boot selbst aus.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final List<Class<?>> EAGER_TYPES = List.of(
+            DataSource.class,
+            FlywayMigrationInitializer.class,
+            EntityManagerFactory.class,
+            AbstractEntityManagerFactoryBean.class,
+            SecurityFilterChain.class,
+            ITemplateEngine.class,
+            ViewResolver.class);
+
+    // Der FilterChainProxy ist nur als Filter deklariert; sonst baute ihn erst der erste Request
+    private static final String SECURITY_FILTER_CHAIN = "springSecurityFilterChain";
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return (beanName, definition, beanType) -> SECURITY_FILTER_CHAIN.equals(beanName)
+                || (beanType != null && EAGER_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType)));
+    }
+}
@@ -0,0 +1,164 @@
+package com.hamediah.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zusammenfassung der Startphasen unter {@code /actuator/startupreport}: JVM bis {@code main},
+ * Vorbereitung, Context-Refresh, bis {@code ApplicationReadyEvent} und bis zum ersten
+ * beantworteten Request, dazu die teuren Schritte (Flyway, Hibernate, Security, Thymeleaf) und
+ * die langsamsten Beans nach eigener Zeit (ohne abhängige Beans). Grundlage ist die von
+ * {@code BufferingApplicationStartup} aufgezeichnete Timeline; die Rohdaten liefert
+ * {@code /actuator/startup}.
+ */
+@Component
+@Endpoint(id = "startupreport")
+public class StartupReport {
+
+    private static final int SLOWEST_BEANS = 15;
+    private static final String INSTANTIATE = "spring.beans.instantiate";
+    private static final String REFRESH = "spring.context.refresh";
+
+    // Beans hinter den bekannten teuren Startschritten
+    private static final Map<String, String> MILESTONES = Map.of(
+            "flyway", "flywayInitializer",
+            "hibernate", "entityManagerFactory",
+            "security", "springSecurityFilterChain",
+            "thymeleaf", "templateEngine");
+
+    public record Mode(boolean aot, boolean cds, boolean lazyInitialization) {
+    }
+
+    public record BeanTime(String bean, long millis) {
+    }
+
+    public record Report(Mode mode, Map<String, Long> phases, Long readyMillis, Long firstRequestMillis,
+                         Map<String, Long> milestones, List<BeanTime> slowestBeans) {
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final Environment env;
+    private final Instant jvmStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+    private volatile Report report;
+    private volatile Instant ready;
+    private volatile Instant firstRequest;
+
+    public StartupReport(ConfigurableApplicationContext context, Environment env, MeterRegistry registry) {
+        this.context = context;
+        this.env = env;
+        TimeGauge.builder("hamediah.startup.first.request", this, TimeUnit.MILLISECONDS,
+                        r -> r.firstRequest == null ? Double.NaN : Duration.between(r.jvmStart, r.firstRequest).toMillis())
+                .description("Zeit vom JVM-Start bis zum ersten beantworteten Request")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        ready = Instant.ofEpochMilli(event.getTimestamp());
+        report = build();
+    }
+
+    // Nur der erste Request zählt; danach bleibt es bei einem Vergleich
+    @EventListener(ServletRequestHandledEvent.class)
+    public void onRequest(ServletRequestHandledEvent event) {
+        if (firstRequest == null) {
+            firstRequest = Instant.ofEpochMilli(event.getTimestamp());
+            if (report != null) report = build();
+        }
+    }
+
+    @ReadOperation
+    public Report report() {
+        Report r = report;
+        return r != null ? r : build();
+    }
+
+    private Report build() {
+        Mode mode = new Mode(AotDetector.useGeneratedArtifacts(), cdsArchive(),
+                env.getProperty("spring.main.lazy-initialization", Boolean.class, false));
+        if (!(context.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return new Report(mode, Map.of(), since(jvmStart, ready), since(jvmStart, firstRequest), Map.of(), List.of());
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        Instant main = timeline.getStartTime();
+
+        Map<Long, Long> childTime = new HashMap<>();
+        Map<String, Long> milestones = new LinkedHashMap<>();
+        List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+        StartupTimeline.TimelineEvent refresh = null;
+        for (StartupTimeline.TimelineEvent e : timeline.getEvents()) {
+            StartupStep step = e.getStartupStep();
+            if (REFRESH.equals(step.getName())) refresh = e;
+            if (!INSTANTIATE.equals(step.getName())) continue;
+            beans.add(e);
+            if (step.getParentId() != null) childTime.merge(step.getParentId(), e.getDuration().toMillis(), Long::sum);
+        }
+
+        List<BeanTime> slowest = new ArrayList<>(beans.size());
+        for (StartupTimeline.TimelineEvent e : beans) {
+            String name = beanName(e.getStartupStep());
+            if (name == null) continue;
+            long total = e.getDuration().toMillis();
+            slowest.add(new BeanTime(name, total - childTime.getOrDefault(e.getStartupStep().getId(), 0L)));
+            MILESTONES.forEach((label, bean) -> {
+                if (bean.equals(name)) milestones.put(label, total);
+            });
+        }
+        slowest.sort(Comparator.comparingLong(BeanTime::millis).reversed());
+
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phases.put("jvm", Duration.between(jvmStart, main).toMillis());
+        if (refresh != null) {
+            phases.put("prepare", Duration.between(main, refresh.getStartTime()).toMillis());
+            phases.put("refresh", refresh.getDuration().toMillis());
+            if (ready != null) phases.put("ready", Duration.between(refresh.getEndTime(), ready).toMillis());
+        }
+        if (ready != null && firstRequest != null) {
+            phases.put("firstRequest", Duration.between(ready, firstRequest).toMillis());
+        }
+        return new Report(mode, phases, since(jvmStart, ready), since(jvmStart, firstRequest), milestones,
+                List.copyOf(slowest.subList(0, Math.min(SLOWEST_BEANS, slowest.size()))));
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            // FactoryBeans wie entityManagerFactory erscheinen als "&name"
+            if ("beanName".equals(tag.getKey())) return BeanFactoryUtils.transformedBeanName(tag.getValue());
+        }
+        return null;
+    }
+
+    private static Long since(Instant from, Instant to) {
+        return to == null ? null : Duration.between(from, to).toMillis();
+    }
+
+    // Nur das Archiv der Anwendung zählt; das Basis-Archiv des JDK ist ohnehin aktiv
+    private static boolean cdsArchive() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile="));
+    }
+}
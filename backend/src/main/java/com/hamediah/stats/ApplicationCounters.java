@@ -0,0 +1,212 @@
+package com.hamediah.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bewerbungen pro Job als gestreifte Zähler ({@link LongAdder}) im Speicher. Neue Bewerbungen
+ * erhöhen die Gesamtzahl und markieren den Job; {@link #flush()} zählt die markierten Jobs
+ * regelmäßig mit einem einzigen Upsert in {@code application} nach und schreibt die Zahl nach
+ * {@code job_stats} (siehe V8). Geschrieben werden also Zählungen, keine Differenzen: ein
+ * Flush ist wiederholbar, und ein Abgleich kann nichts doppelt zählen, was eine andere Instanz
+ * noch nicht geschrieben hat. Beim Start wird {@code job_stats} einmal gegen {@code application}
+ * abgeglichen (Markierungen, die ein Absturz verloren hat) und in den Speicher geladen.
+ * <p>
+ * Nach jedem Flush stimmen die Zahlen der markierten Jobs mit der Datenbank überein, auch mit
+ * den Bewerbungen anderer Instanzen; andere Jobs sehen fremde Bewerbungen erst nach dem
+ * nächsten Start.
+ */
+@Component
+public class ApplicationCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationCounters.class);
+
+    public static final int MAX_TOP = 100;
+
+    // Flushes halten die Sperre geteilt, der Abgleich exklusiv (beliebiger fester Schlüssel)
+    private static final long STATS_LOCK = 0x6a6f625f73746174L;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final boolean reconcileOnStartup;
+    private final Map<Long, LongAdder> totals = new ConcurrentHashMap<>();
+    // Jobs mit neuen Bewerbungen seit dem letzten Flush
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public ApplicationCounters(JdbcTemplate jdbc, TransactionTemplate tx,
+                               @Value("${hamediah.stats.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    /**
+     * Lädt {@code job_stats} in den Speicher. Markierungen aus den ersten Requests bleiben stehen;
+     * was zwischen Abgleich und Laden committet wurde, korrigiert der nächste Flush.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        if (reconcileOnStartup) reconcile();
+        jdbc.query("SELECT job_id, application_count FROM job_stats WHERE application_count > 0",
+                rs -> {
+                    totals.put(rs.getLong(1), adder(rs.getLong(2)));
+                });
+        ready = true;
+        log.info("Application counters loaded for {} jobs in {} ms", totals.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Einmaliger Abgleich beim Start. Unter der exklusiven Sperre: kein Flush einer anderen
+    // Instanz kann mit einer neueren Zählung dazwischen committen und dann überschrieben werden
+    private void reconcile() {
+        Integer fixed = tx.execute(status -> {
+            jdbc.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, STATS_LOCK);
+            int n = jdbc.update("INSERT INTO job_stats (job_id, application_count)"
+                    + " SELECT job_id, COUNT(*) FROM application GROUP BY job_id"
+                    + " ON CONFLICT (job_id) DO UPDATE SET application_count = EXCLUDED.application_count, updated_at = NOW()"
+                    + " WHERE job_stats.application_count <> EXCLUDED.application_count");
+            n += jdbc.update("UPDATE job_stats s SET application_count = 0, updated_at = NOW()"
+                    + " WHERE s.application_count <> 0"
+                    + " AND NOT EXISTS (SELECT 1 FROM application a WHERE a.job_id = s.job_id)");
+            return n;
+        });
+        if (fixed != null && fixed > 0) log.warn("Reconciled {} job_stats rows against the application table", fixed);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Eine gespeicherte Bewerbung zählen. Innerhalb einer Transaktion erst nach dem Commit.
+     */
+    public void applied(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(jobId);
+                }
+            });
+        } else {
+            increment(jobId);
+        }
+    }
+
+    private void increment(Long jobId) {
+        totals.computeIfAbsent(jobId, id -> new LongAdder()).increment();
+        dirty.add(jobId);
+    }
+
+    /** Job gelöscht: die Zeile in job_stats entfernt der Trigger job_delete_cascade (V10). */
+    public void forgetJob(Long jobId) {
+        totals.remove(jobId);
+        dirty.remove(jobId);
+    }
+
+    public long count(Long jobId) {
+        LongAdder total = totals.get(jobId);
+        return total != null ? total.sum() : 0;
+    }
+
+    /**
+     * Die Jobs mit den meisten Bewerbungen, absteigend. Ein Durchlauf über alle Zähler mit einem
+     * Min-Heap der Größe {@code limit}, also O(Jobs · log limit) ohne Sortieren aller Jobs.
+     */
+    public List<Count> top(int limit) {
+        int n = Math.max(1, Math.min(limit, MAX_TOP));
+        PriorityQueue<Count> heap = new PriorityQueue<>(n + 1, ORDER);
+        totals.forEach((jobId, total) -> {
+            long count = total.sum();
+            if (count <= 0) return;
+            if (heap.size() < n) {
+                heap.add(new Count(jobId, count));
+            } else if (count > heap.peek().applications()
+                    || count == heap.peek().applications() && jobId > heap.peek().jobId()) {
+                heap.poll();
+                heap.add(new Count(jobId, count));
+            }
+        });
+        List<Count> result = new ArrayList<>(heap);
+        result.sort(ORDER.reversed());
+        return result;
+    }
+
+    // Kleinster zuerst; bei Gleichstand verliert der ältere Job (kleinere ID)
+    private static final Comparator<Count> ORDER = Comparator.comparingLong(Count::applications)
+            .thenComparingLong(Count::jobId);
+
+    /**
+     * Zählt die markierten Jobs in einem Statement nach (Index idx_application_job_created_at)
+     * und übernimmt das Ergebnis auch in den Speicher. Bewerbungen pro Job werden nur mit dem
+     * Job selbst gelöscht, die Zahl kann also nur steigen: GREATEST verhindert, dass ein Flush
+     * mit älterem Snapshot die Zählung eines parallelen Flushs überschreibt. Was nach dem
+     * Snapshot committet wird, ist wieder markiert und kommt im nächsten Lauf.
+     */
+    @Scheduled(fixedDelayString = "${hamediah.stats.flush-interval-ms:5000}")
+    public void flush() {
+        if (!ready) return;
+        List<Long> jobIds = new ArrayList<>();
+        for (Long jobId : dirty) {
+            if (dirty.remove(jobId)) jobIds.add(jobId);
+        }
+        if (jobIds.isEmpty()) return;
+
+        // JOIN: inzwischen gelöschte Jobs fallen heraus statt den Foreign Key zu verletzen
+        String sql = "INSERT INTO job_stats (job_id, application_count)"
+                + " SELECT a.job_id, COUNT(*) FROM application a JOIN job j ON j.id = a.job_id"
+                + " WHERE a.job_id = ANY (?) GROUP BY a.job_id"
+                + " ON CONFLICT (job_id) DO UPDATE"
+                + " SET application_count = GREATEST(job_stats.application_count, EXCLUDED.application_count),"
+                + " updated_at = NOW()"
+                + " RETURNING job_id, application_count";
+        try {
+            tx.executeWithoutResult(status -> {
+                jdbc.queryForObject("SELECT pg_advisory_xact_lock_shared(?)", Object.class, STATS_LOCK);
+                jdbc.query(sql, rs -> {
+                    totals.put(rs.getLong(1), adder(rs.getLong(2)));
+                }, (Object) jobIds.toArray(new Long[0]));
+            });
+        } catch (RuntimeException e) {
+            // Wieder markieren, der nächste Lauf versucht es erneut
+            dirty.addAll(jobIds);
+            log.warn("Flushing application counters for {} jobs failed, retrying on next run: {}",
+                    jobIds.size(), e.getMessage());
+        }
+    }
+
+    private static LongAdder adder(long value) {
+        LongAdder adder = new LongAdder();
+        adder.add(value);
+        return adder;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public record Count(Long jobId, long applications) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.hamediah.web;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Eine gerenderte Seite mit vorab komprimierten Varianten. {@code brotli} ist {@code null},
+ * wenn die native Brotli-Bibliothek auf der Plattform nicht verfügbar ist.
+ */
+public record CachedPage(String contentType, String contentLanguage, byte[] identity, byte[] gzip, byte[] brotli) {
+
+    // Qualität 9 statt 11: kaum größer, aber um ein Vielfaches schneller beim Befüllen
+    private static final Encoder.Parameters BROTLI = new Encoder.Parameters().setQuality(9);
+
+    static CachedPage of(String contentType, String contentLanguage, byte[] body, boolean withBrotli) {
+        return new CachedPage(contentType, contentLanguage, body, gzip(body), withBrotli ? brotli(body) : null);
+    }
+
+    /** Größe für das Gewichtslimit des Caches. */
+    public int weight() {
+        return identity.length + gzip.length + (brotli != null ? brotli.length : 0);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] body) {
+        try {
+            return Encoder.compress(body, BROTLI);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.hamediah.web;
 
+import com.hamediah.analytics.JobViewTracker;
 import com.hamediah.service.JobService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -10,9 +12,11 @@ import org.springframework.web.bind.annotation.*;
 public class JobController {
 
     private final JobService service;
+    private final JobViewTracker viewTracker;
 
-    public JobController(JobService service) {
+    public JobController(JobService service, JobViewTracker viewTracker) {
         this.service = service;
+        this.viewTracker = viewTracker;
     }
 
     @GetMapping
@@ -23,9 +27,10 @@ public class JobController {
     }
 
     @GetMapping("/{id}")
-    public String detail(@PathVariable Long id, Model model) {
+    public String detail(@PathVariable Long id, Model model, HttpServletRequest request) {
         var job = service.findById(id).orElse(null);
         if (job == null) return "redirect:/jobs";
+        viewTracker.viewed(id, request);
         model.addAttribute("job", job);
         return "jobs/detail";
     }
@@ -0,0 +1,157 @@
+package com.hamediah.web;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.hamediah.config.CacheConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Full-Page-Cache für anonyme GET-Requests. Tatsächlich gecacht wird derzeit nur {@code /}:
+ * {@code /jobs} und {@code /jobs/{id}} sind zwar als cachebar eingetragen, verlangen laut
+ * SecurityConfig aber eine Anmeldung, anonyme Aufrufe kommen also nie bis hierher.
+ * Schlüssel: Pfad, Query und aufgelöste Locale (Cookie {@code LOCALE}, siehe WebConfig).
+ * Gespeichert werden die HTML-Bytes plus gzip- und Brotli-Variante; ein Treffer schreibt nur
+ * noch das passende Byte-Array. Job-Änderungen leeren den Cache über {@code @CacheEvict(PAGES)}.
+ * <p>
+ * Läuft nach der Security-Filterkette: angemeldete Nutzer, {@code ?lang=} (setzt ein Cookie)
+ * und Antworten mit Set-Cookie werden nicht gecacht. Antworten tragen
+ * {@code Vary: Accept-Encoding, Cookie} und zusätzlich {@code X-Page-Cache: HIT|MISS}; letzteres
+ * ist nur ein Diagnose-Header und gehört nicht in {@code Vary}.
+ */
+@Component
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PageCacheFilter.class);
+
+    private static final String CACHE_HEADER = "X-Page-Cache";
+
+    private final Cache cache;
+    private final LocaleResolver localeResolver;
+    private final boolean brotli;
+
+    public PageCacheFilter(CacheManager cacheManager, LocaleResolver localeResolver) {
+        this.cache = cacheManager.getCache(CacheConfig.PAGES);
+        this.localeResolver = localeResolver;
+        this.brotli = Brotli4jLoader.isAvailable();
+        if (!brotli) {
+            log.warn("Brotli not available on this platform, page cache serves gzip only",
+                    Brotli4jLoader.getUnavailabilityCause());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getParameter("lang") != null) return true;
+        return !isCacheablePath(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    static boolean isCacheablePath(String path) {
+        if (path.equals("/") || path.equals("/jobs")) return true;
+        if (!path.startsWith("/jobs/") || path.length() == "/jobs/".length()) return false;
+        for (int i = "/jobs/".length(); i < path.length(); i++) {
+            if (!Character.isDigit(path.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isAnonymous()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = key(request);
+        CachedPage page = cache.get(key, CachedPage.class);
+        if (page != null) {
+            write(request, response, page, "HIT");
+            return;
+        }
+
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, capture);
+
+        String contentType = capture.getContentType();
+        if (capture.getStatus() != HttpServletResponse.SC_OK
+                || contentType == null || !contentType.startsWith("text/html")
+                || response.containsHeader(HttpHeaders.SET_COOKIE)) {
+            capture.copyBodyToResponse();
+            return;
+        }
+        // Tomcat liefert Content-Language nicht über getHeader, sondern nur als Response-Locale
+        page = CachedPage.of(contentType, capture.getLocale().toLanguageTag(),
+                capture.getContentAsByteArray(), brotli);
+        cache.put(key, page);
+        write(request, response, page, "MISS");
+    }
+
+    private String key(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String locale = localeResolver.resolveLocale(request).toLanguageTag();
+        return query == null
+                ? request.getRequestURI() + '|' + locale
+                : request.getRequestURI() + '?' + query + '|' + locale;
+    }
+
+    private static boolean isAnonymous() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null || auth instanceof AnonymousAuthenticationToken || !auth.isAuthenticated();
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedPage page,
+                              String status) throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = page.identity();
+        if (page.brotli() != null && accepts(acceptEncoding, "br")) {
+            body = page.brotli();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+        } else if (accepts(acceptEncoding, "gzip")) {
+            body = page.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(page.contentType());
+        if (page.contentLanguage() != null) response.setHeader(HttpHeaders.CONTENT_LANGUAGE, page.contentLanguage());
+        response.setHeader(HttpHeaders.VARY, "Accept-Encoding, Cookie");
+        response.setHeader(CACHE_HEADER, status);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // Einfache Auswertung von Accept-Encoding; Einträge mit q=0 gelten als abgelehnt.
+    // Auch für andere komprimierte Antworten (Bewerbungs-Export)
+    public static boolean accepts(String header, String coding) {
+        if (header == null) return false;
+        for (String part : header.split(",")) {
+            int params = part.indexOf(';');
+            String name = (params >= 0 ? part.substring(0, params) : part).trim();
+            if (!name.equalsIgnoreCase(coding)) continue;
+            if (params < 0) return true;
+            String q = part.substring(params + 1).trim();
+            if (!q.startsWith("q=")) return true;
+            try {
+                return Double.parseDouble(q.substring(2)) > 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
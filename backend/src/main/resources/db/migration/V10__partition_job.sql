@@ -0,0 +1,136 @@
+-- job partitioniert: LIST nach archived in job_live und job_archive, job_live zusätzlich
+-- monatlich nach created_at (RANGE). Abgelaufene Stellen verschiebt JobArchiver per
+-- UPDATE archived = TRUE nach job_archive; Listen und Suche lesen nur job_live.
+--
+-- PostgreSQL erlaubt Fremdschlüssel auf eine partitionierte Tabelle nur über einen Unique-Key,
+-- der die Partitionsschlüssel enthält. Die Verweise auf job(id) werden deshalb durch Trigger
+-- ersetzt (Existenzprüfung beim Einfügen, Kaskade beim Löschen).
+
+ALTER TABLE application DROP CONSTRAINT IF EXISTS application_job_id_fkey;
+ALTER TABLE job_application DROP CONSTRAINT IF EXISTS job_application_job_id_fkey;
+ALTER TABLE job_stats DROP CONSTRAINT IF EXISTS job_stats_job_id_fkey;
+ALTER TABLE job_view_stats DROP CONSTRAINT IF EXISTS job_view_stats_job_id_fkey;
+
+-- Die Sequenz gehört zur BIGSERIAL-Spalte und würde sonst mit der alten Tabelle gelöscht
+ALTER SEQUENCE job_id_seq OWNED BY NONE;
+ALTER TABLE job RENAME TO job_unpartitioned;
+ALTER TABLE job_unpartitioned RENAME CONSTRAINT job_pkey TO job_unpartitioned_pkey;
+ALTER INDEX idx_job_created_at RENAME TO idx_job_unpartitioned_created_at;
+
+CREATE TABLE job (
+    id           BIGINT       NOT NULL DEFAULT nextval('job_id_seq'),
+    title        VARCHAR(255) NOT NULL,
+    description  TEXT         NOT NULL,
+    location     VARCHAR(255),
+    tags         TEXT,
+    company_id   BIGINT REFERENCES company(id) ON DELETE SET NULL,
+    created_by   BIGINT REFERENCES app_user(id) ON DELETE SET NULL,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    updated_at   TIMESTAMPTZ,
+    expires_at   TIMESTAMPTZ,
+    archived     BOOLEAN      NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, archived, created_at)
+) PARTITION BY LIST (archived);
+
+ALTER SEQUENCE job_id_seq OWNED BY job.id;
+
+CREATE TABLE job_live PARTITION OF job FOR VALUES IN (FALSE) PARTITION BY RANGE (created_at);
+-- Auffangbecken außerhalb der angelegten Monate; sollte leer bleiben (siehe job_ensure_partitions)
+CREATE TABLE job_live_default PARTITION OF job_live DEFAULT;
+CREATE TABLE job_archive PARTITION OF job FOR VALUES IN (TRUE);
+
+-- Keyset-Paginierung wie bisher (V4); Lookups per ID nutzen den Primärschlüssel (id vorn) je Partition
+CREATE INDEX idx_job_created_at ON job(created_at DESC, id DESC);
+CREATE INDEX idx_job_live_expires_at ON job_live(expires_at);
+
+-- Monatspartitionen von from_month bis einschließlich to_month anlegen (Grenzen in UTC)
+CREATE OR REPLACE FUNCTION job_ensure_partitions(from_month DATE, to_month DATE) RETURNS INTEGER AS $$
+DECLARE
+    m       DATE := date_trunc('month', from_month);
+    name    TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE m <= to_month LOOP
+        name := 'job_live_p' || to_char(m, 'YYYYMM');
+        IF to_regclass(name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF job_live FOR VALUES FROM (%L) TO (%L)',
+                           name, m::timestamp AT TIME ZONE 'UTC', (m + interval '1 month')::timestamp AT TIME ZONE 'UTC');
+            created := created + 1;
+        END IF;
+        m := m + interval '1 month';
+    END LOOP;
+    RETURN created;
+END
+$$ LANGUAGE plpgsql;
+
+-- Leere Monatspartitionen, die vor before enden, entfernen (alles archiviert)
+CREATE OR REPLACE FUNCTION job_drop_empty_partitions(before DATE) RETURNS INTEGER AS $$
+DECLARE
+    p        RECORD;
+    has_rows BOOLEAN;
+    dropped  INTEGER := 0;
+BEGIN
+    FOR p IN SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = 'job_live'::regclass AND c.relname ~ '^job_live_p[0-9]{6}$'
+               AND to_date(substring(c.relname FROM 11), 'YYYYMM') + interval '1 month' <= before
+    LOOP
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', p.relname) INTO has_rows;
+        IF NOT has_rows THEN
+            EXECUTE format('DROP TABLE %I', p.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END
+$$ LANGUAGE plpgsql;
+
+-- Bestand übernehmen: Laufzeit 60 Tage wie Job.DEFAULT_LIFETIME, bereits Abgelaufenes direkt ins Archiv
+SELECT job_ensure_partitions(
+    COALESCE((SELECT MIN(created_at) FROM job_unpartitioned WHERE created_at + interval '60 days' > NOW())::date,
+             CURRENT_DATE),
+    (CURRENT_DATE + interval '3 months')::date);
+
+INSERT INTO job (id, title, description, location, tags, company_id, created_by, created_at, updated_at,
+                 expires_at, archived)
+SELECT id, title, description, location, tags, company_id, created_by, created_at, updated_at,
+       created_at + interval '60 days', created_at + interval '60 days' <= NOW()
+FROM job_unpartitioned;
+
+DROP TABLE job_unpartitioned;
+
+-- Ersatz für die Fremdschlüssel: Bewerbungen nur auf bestehende, nicht archivierte Jobs.
+-- Der Constraint-Name bleibt, ApplicationService erkennt den Fehler daran.
+CREATE OR REPLACE FUNCTION application_job_exists() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM 1 FROM job WHERE id = NEW.job_id AND NOT archived FOR KEY SHARE;
+    IF NOT FOUND THEN
+        RAISE foreign_key_violation USING
+            MESSAGE = format('job %s does not exist or is archived', NEW.job_id),
+            CONSTRAINT = 'application_job_id_fkey',
+            TABLE = TG_TABLE_NAME;
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER application_job_exists BEFORE INSERT OR UPDATE OF job_id ON application
+    FOR EACH ROW EXECUTE FUNCTION application_job_exists();
+
+-- Kaskade wie vorher ON DELETE CASCADE. Das Archivieren verschiebt Zeilen zwischen Partitionen,
+-- intern ein DELETE plus INSERT; AFTER-Trigger laufen erst am Ende des Statements, die Zeile
+-- steht dann schon im Archiv und wird hier übersprungen.
+CREATE OR REPLACE FUNCTION job_delete_cascade() RETURNS TRIGGER AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM job WHERE id = OLD.id) THEN
+        RETURN NULL;
+    END IF;
+    DELETE FROM application WHERE job_id = OLD.id;
+    DELETE FROM job_application WHERE job_id = OLD.id;
+    DELETE FROM job_stats WHERE job_id = OLD.id;
+    DELETE FROM job_view_stats WHERE job_id = OLD.id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER job_delete_cascade AFTER DELETE ON job
+    FOR EACH ROW EXECUTE FUNCTION job_delete_cascade();
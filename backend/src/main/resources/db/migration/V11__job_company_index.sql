@@ -0,0 +1,3 @@
+-- Jobs einer Firma, neueste zuerst (Firmenseite, Keyset über created_at/id).
+-- Auf der partitionierten Tabelle angelegt, gilt der Index auch für künftige Monatspartitionen.
+CREATE INDEX IF NOT EXISTS idx_job_company_created_at ON job(company_id, created_at DESC, id DESC);
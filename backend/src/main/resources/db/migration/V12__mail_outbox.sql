@@ -0,0 +1,23 @@
+-- Benachrichtigungs-Mails an Arbeitgeber über neue Bewerbungen: Transactional Outbox wie job_outbox (V7).
+-- Eine Zeile pro Bewerbung, in derselben Transaktion geschrieben; MailDispatcher fasst die Zeilen
+-- pro Empfänger zu Digest-Mails zusammen und löscht sie nach dem Versand.
+
+-- Empfänger: Kontaktadresse der Firma, sonst der Benutzer, der den Job angelegt hat
+ALTER TABLE company ADD COLUMN IF NOT EXISTS contact_email VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS mail_outbox (
+    id              BIGSERIAL    PRIMARY KEY,
+    recipient       VARCHAR(255) NOT NULL,
+    -- Bewusst ohne Foreign Keys: gelöschte Bewerbungen verwirft der Dispatcher
+    application_id  BIGINT       NOT NULL,
+    job_id          BIGINT       NOT NULL,
+    -- PENDING, SENDING (vergeben bis next_attempt_at) oder FAILED (aufgegeben)
+    status          VARCHAR(10)  NOT NULL DEFAULT 'PENDING',
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    last_error      TEXT,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_mail_outbox_due ON mail_outbox(next_attempt_at) WHERE status <> 'FAILED';
+CREATE INDEX IF NOT EXISTS idx_mail_outbox_recipient ON mail_outbox(recipient, id) WHERE status <> 'FAILED';
@@ -0,0 +1,6 @@
+-- Koordinaten zu job.location aus dem Offline-Gazetteer (siehe Gazetteer). NULL: Ort unbekannt
+-- (z. B. "Remote") oder noch nicht kodiert; Bestand füllt JobGeocodingBackfill beim Start.
+ALTER TABLE job ADD COLUMN latitude DOUBLE PRECISION, ADD COLUMN longitude DOUBLE PRECISION;
+
+-- Für die Suche nach noch nicht kodierten Orten beim Start; bleibt klein, sobald alles kodiert ist
+CREATE INDEX idx_job_live_ungeocoded ON job_live(location) WHERE latitude IS NULL;
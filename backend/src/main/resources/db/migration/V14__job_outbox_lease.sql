@@ -0,0 +1,3 @@
+-- Der Relay vergibt Outbox-Zeilen per Lease statt sie während des Bulk-Requests gesperrt zu halten:
+-- claimed_until in der Zukunft = gerade in Arbeit, abgelaufen oder NULL = frei.
+ALTER TABLE job_outbox ADD COLUMN claimed_until TIMESTAMPTZ;
@@ -0,0 +1,4 @@
+-- Indizes für Keyset-Paginierung (created_at DESC, id DESC).
+-- job nutzt weiterhin idx_job_created_at aus V1.
+CREATE INDEX IF NOT EXISTS idx_application_job_created_at ON application(job_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_company_created_at ON company(created_at DESC, id DESC);
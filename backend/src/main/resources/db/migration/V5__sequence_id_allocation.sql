@@ -0,0 +1,5 @@
+-- Hibernate vergibt IDs blockweise aus den BIGSERIAL-Sequenzen (allocationSize = 50),
+-- damit Inserts per JDBC gebatcht werden können (mit IDENTITY ist das nicht möglich).
+ALTER SEQUENCE company_id_seq INCREMENT BY 50;
+ALTER SEQUENCE job_id_seq INCREMENT BY 50;
+ALTER SEQUENCE application_id_seq INCREMENT BY 50;
@@ -0,0 +1,13 @@
+-- Eine Bewerbung pro (Job, E-Mail): bestehende Duplikate entfernen (älteste bleibt),
+-- danach die Eindeutigkeit in der Datenbank erzwingen statt per check-then-insert.
+DELETE FROM application a
+    USING application b
+    WHERE a.job_id = b.job_id
+      AND a.applicant_email = b.applicant_email
+      AND a.id > b.id;
+
+ALTER TABLE application
+    ADD CONSTRAINT uq_application_job_email UNIQUE (job_id, applicant_email);
+
+-- Der Unique-Index deckt Lookups nach (job_id, applicant_email) ab
+DROP INDEX IF EXISTS idx_application_email_job;
@@ -0,0 +1,11 @@
+-- Transactional Outbox für den OpenSearch-Index: JobService schreibt pro Änderung
+-- eine Zeile in derselben Transaktion, der Relay überträgt sie per _bulk und löscht sie.
+CREATE TABLE IF NOT EXISTS job_outbox (
+    id          BIGSERIAL PRIMARY KEY,
+    job_id      BIGINT      NOT NULL,
+    operation   VARCHAR(10) NOT NULL,
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- IDs blockweise vergeben wie bei den anderen Tabellen (siehe V5)
+ALTER SEQUENCE job_outbox_id_seq INCREMENT BY 50;
@@ -0,0 +1,14 @@
+-- Bewerbungszähler pro Job: ApplicationCounters zählt im Speicher und schreibt die
+-- Differenzen gebündelt per Upsert, Dashboards lesen hier statt COUNT(*) über application.
+CREATE TABLE IF NOT EXISTS job_stats (
+    job_id             BIGINT      PRIMARY KEY REFERENCES job(id) ON DELETE CASCADE,
+    application_count  BIGINT      NOT NULL DEFAULT 0,
+    updated_at         TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_stats_application_count ON job_stats(application_count DESC);
+
+-- Bestand übernehmen
+INSERT INTO job_stats (job_id, application_count)
+SELECT job_id, COUNT(*) FROM application GROUP BY job_id
+ON CONFLICT (job_id) DO NOTHING;
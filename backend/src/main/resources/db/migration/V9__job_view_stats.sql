@@ -0,0 +1,13 @@
+-- Aufrufe der Job-Detailseiten pro Stunde: JobViewAggregator schreibt gebündelt per Upsert.
+-- visitors_sketch ist der HyperLogLog der Stunde (1024 Register), damit eine neu gestartete
+-- Instanz die laufende Stunde ohne doppelt gezählte Besucher fortsetzen kann.
+CREATE TABLE IF NOT EXISTS job_view_stats (
+    job_id           BIGINT      NOT NULL REFERENCES job(id) ON DELETE CASCADE,
+    hour             TIMESTAMPTZ NOT NULL,
+    views            BIGINT      NOT NULL DEFAULT 0,
+    unique_visitors  BIGINT      NOT NULL DEFAULT 0,
+    visitors_sketch  BYTEA,
+    PRIMARY KEY (job_id, hour)
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_view_stats_hour ON job_view_stats(hour);
@@ -0,0 +1,83 @@
+package com.hamediah.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    private static final class Entry implements PrefixTrie.Weighted {
+        private final String label;
+        private int weight;
+
+        Entry(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+        @Override
+        public String label() {
+            return label;
+        }
+    }
+
+    // Eintrag unter zwei Schlüsseln, deren gemeinsamer Vorfahr die Wurzel ist
+    @Test
+    void demotingAnEntryUnderSeveralKeysKeepsSharedAncestorsExact() {
+        PrefixTrie<Entry> trie = new PrefixTrie<>(1);
+        Entry e = new Entry("e", 10);
+        Entry x = new Entry("x", 5);
+        Entry y = new Entry("y", 3);
+        trie.add("a b", e);
+        trie.add("b", e);
+        trie.add("bz", x);
+        trie.add("ay", y);
+
+        e.weight = 1;
+        trie.reweigh(List.of("a b", "b"), e, false);
+
+        assertThat(trie.complete("", 1)).containsExactly(x);
+        assertThat(trie.complete("a", 1)).containsExactly(y);
+        assertThat(trie.complete("b", 1)).containsExactly(x);
+    }
+
+    @Test
+    void removingAnEntryUnderSeveralKeysKeepsSharedAncestorsExact() {
+        PrefixTrie<Entry> trie = new PrefixTrie<>(1);
+        Entry e = new Entry("e", 10);
+        Entry x = new Entry("x", 5);
+        Entry y = new Entry("y", 3);
+        trie.add("a b", e);
+        trie.add("b", e);
+        trie.add("bz", x);
+        trie.add("ay", y);
+
+        trie.remove(List.of("a b", "b"), e);
+
+        assertThat(trie.complete("", 1)).containsExactly(x);
+        assertThat(trie.complete("a", 1)).containsExactly(y);
+        assertThat(trie.complete("a b", 1)).isEmpty();
+    }
+
+    @Test
+    void promotingAnEntryMovesItAheadUnderEveryPrefix() {
+        PrefixTrie<Entry> trie = new PrefixTrie<>(2);
+        Entry java = new Entry("java", 2);
+        Entry javascript = new Entry("javascript", 3);
+        trie.add("java", java);
+        trie.add("javascript", javascript);
+
+        java.weight = 5;
+        trie.reweigh(List.of("java"), java, true);
+
+        assertThat(trie.complete("ja", 2)).containsExactly(java, javascript);
+        assertThat(trie.complete("javas", 2)).containsExactly(javascript);
+    }
+}
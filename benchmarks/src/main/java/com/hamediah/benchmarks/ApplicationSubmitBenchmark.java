@@ -0,0 +1,81 @@
+package com.hamediah.benchmarks;
+
+import com.hamediah.HamediahApplication;
+import com.hamediah.domain.Application;
+import com.hamediah.domain.Company;
+import com.hamediah.repository.CompanyRepository;
+import com.hamediah.service.ApplicationService;
+import com.hamediah.service.JobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durchsatz von {@link ApplicationService#submitApplication} mit dem echten Spring-Kontext
+ * (JPA, Transaktionen, Bloom-Filter) gegen eine H2-In-Memory-Datenbank im PostgreSQL-Modus.
+ * Das Schema erzeugt Hibernate aus den Entities; Flyway ist aus, weil die Migrationen
+ * PostgreSQL-spezifisch sind. Absolute Zahlen sind daher nur untereinander vergleichbar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ApplicationSubmitBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ApplicationService service;
+    private Long jobId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(HamediahApplication.class)
+                .web(WebApplicationType.NONE)
+                // Als Kommandozeilenargumente, damit sie application.yml überschreiben
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--hamediah.archive.enabled=false",
+                        "--logging.level.root=WARN");
+        service = context.getBean(ApplicationService.class);
+
+        Company company = new Company();
+        company.setName("Benchmark GmbH");
+        company = context.getBean(CompanyRepository.class).save(company);
+        jobId = context.getBean(JobService.class)
+                .createJob("Java Developer", "Benchmark job", "Riyadh", "java", company.getId())
+                .getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Application submit() {
+        long n = sequence.incrementAndGet();
+        return service.submitApplication(jobId, "Applicant " + n, "applicant-" + n + "@example.com",
+                "Cover letter", null);
+    }
+}
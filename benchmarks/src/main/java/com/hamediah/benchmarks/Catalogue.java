@@ -0,0 +1,97 @@
+package com.hamediah.benchmarks;
+
+import com.hamediah.domain.Company;
+import com.hamediah.domain.Job;
+import com.hamediah.dto.JobSummary;
+import com.hamediah.search.JobIndexEntry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Reproduzierbarer synthetischer Job-Katalog (fester Seed) mit englischen und arabischen
+ * Titeln, damit alle Benchmarks mit derselben Datenverteilung arbeiten.
+ */
+final class Catalogue {
+
+    private static final String[] LEVELS = {"Junior", "Senior", "Lead", "Principal", "", "", "مطور", "كبير"};
+    private static final String[] ROLES = {
+            "Java Developer", "Backend Engineer", "Frontend Developer", "Data Engineer", "DevOps Engineer",
+            "Product Manager", "QA Engineer", "Mobile Developer", "Security Analyst", "Data Scientist",
+            "مطور جافا", "مهندس بيانات", "مدير منتج", "محلل أمن", "مطور واجهات"};
+    private static final String[] LOCATIONS = {
+            "Riyadh", "Jeddah", "Dammam", "Dubai", "Cairo", "Amman", "Remote", "الرياض", "جدة", "القاهرة"};
+    private static final String[] TAGS = {
+            "java", "spring", "react", "typescript", "kotlin", "aws", "kubernetes", "postgresql", "python", "sql",
+            "remote", "full-time", "part-time", "عن بعد", "دوام كامل"};
+
+    private final List<Company> companies;
+    private final List<Job> jobs;
+
+    private Catalogue(List<Company> companies, List<Job> jobs) {
+        this.companies = companies;
+        this.jobs = jobs;
+    }
+
+    static Catalogue generate(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        int companyCount = Math.max(10, size / 50);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<Company> companies = new ArrayList<>(companyCount);
+        for (int i = 0; i < companyCount; i++) {
+            Company company = new Company();
+            company.setId((long) i + 1);
+            company.setName((i % 5 == 0 ? "شركة " : "Company ") + Integer.toString(i, 36));
+            company.setWebsite("https://example.com/" + i);
+            company.setCreatedAt(base.plusMinutes(i));
+            companies.add(company);
+        }
+
+        List<Job> jobs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Job job = new Job();
+            job.setId((long) i + 1);
+            String level = LEVELS[random.nextInt(LEVELS.length)];
+            job.setTitle((level.isEmpty() ? "" : level + " ") + ROLES[random.nextInt(ROLES.length)]);
+            job.setDescription("We are looking for a motivated colleague to join our team. " .repeat(4 + random.nextInt(8)));
+            job.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            job.setTags(TAGS[random.nextInt(TAGS.length)] + "," + TAGS[random.nextInt(TAGS.length)]);
+            job.setCompany(companies.get(random.nextInt(companyCount)));
+            job.setCreatedAt(base.plusSeconds(i * 30L));
+            jobs.add(job);
+        }
+        return new Catalogue(companies, jobs);
+    }
+
+    List<Company> companies() {
+        return companies;
+    }
+
+    List<Job> jobs() {
+        return jobs;
+    }
+
+    List<JobIndexEntry> indexEntries() {
+        List<JobIndexEntry> entries = new ArrayList<>(jobs.size());
+        for (Job job : jobs) entries.add(JobIndexEntry.from(job));
+        return entries;
+    }
+
+    List<JobSummary> summaries() {
+        List<JobSummary> summaries = new ArrayList<>(jobs.size());
+        for (Job job : jobs) summaries.add(summary(job));
+        return summaries;
+    }
+
+    static JobSummary summary(Job job) {
+        String description = job.getDescription();
+        return new JobSummary(job.getId(), job.getTitle(), job.getCompany().getId(), job.getCompany().getName(),
+                job.getLocation(),
+                description.length() > JobSummary.SNIPPET_LENGTH
+                        ? description.substring(0, JobSummary.SNIPPET_LENGTH) : description,
+                job.getCreatedAt());
+    }
+}
@@ -0,0 +1,82 @@
+package com.hamediah.benchmarks;
+
+import com.hamediah.domain.Job;
+import com.hamediah.dto.FacetCount;
+import com.hamediah.geo.Gazetteer;
+import com.hamediah.geo.GeoPoint;
+import com.hamediah.search.GeoFilter;
+import com.hamediah.search.JobFacetIndex;
+import com.hamediah.search.JobFilter;
+import com.hamediah.search.JobIndexEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Umkreissuche über den {@link JobFacetIndex}: erste Seite neueste zuerst, erste Seite nach
+ * Entfernung und Facettenzählungen im Umkreis. Die Jobs des Katalogs werden zufällig auf alle
+ * Orte des Gazetteers verteilt (fester Seed), ein Viertel bleibt "Remote" ohne Koordinaten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GeoSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int jobs;
+
+    @Param({"25", "250", "2500"})
+    public double radiusKm;
+
+    private JobFacetIndex index;
+    private JobFilter filter;
+
+    @Setup
+    public void setUp() throws IOException {
+        Gazetteer gazetteer = new Gazetteer(new ClassPathResource("geo/cities.tsv"));
+        List<Gazetteer.Place> places = gazetteer.places();
+        SplittableRandom random = new SplittableRandom(7);
+        index = new JobFacetIndex();
+        for (Job job : Catalogue.generate(jobs).jobs()) {
+            job.setLocation(random.nextInt(4) == 0 ? "Remote" : places.get(random.nextInt(places.size())).name());
+            gazetteer.geocode(job);
+            index.index(JobIndexEntry.from(job));
+        }
+        index.onRebuilt();
+        GeoPoint riyadh = gazetteer.locate("Riyadh").orElseThrow().point();
+        filter = JobFilter.NONE.withGeo(new GeoFilter(riyadh, radiusKm, null));
+    }
+
+    @Benchmark
+    public JobFacetIndex.Page newestFirst() {
+        return index.page(filter, null, 20, null);
+    }
+
+    @Benchmark
+    public JobFacetIndex.Page nearestFirst() {
+        return index.nearest(filter, 0, 20, null);
+    }
+
+    @Benchmark
+    public Map<String, List<FacetCount>> facetCounts() {
+        return index.counts(filter, null, 20);
+    }
+}
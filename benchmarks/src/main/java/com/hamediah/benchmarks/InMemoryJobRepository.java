@@ -0,0 +1,52 @@
+package com.hamediah.benchmarks;
+
+import com.hamediah.dto.JobSummary;
+import com.hamediah.repository.JobRepository;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Datenbank-Ersatz für {@link JobRepository}: beantwortet nur die Abfragen, die
+ * {@code JobService.search/page} braucht, aus einer Map. Damit misst der Benchmark
+ * Index, Ranking und Nachladen, nicht die Latenz einer echten Datenbank.
+ */
+final class InMemoryJobRepository {
+
+    private InMemoryJobRepository() {
+    }
+
+    static JobRepository of(List<JobSummary> summaries) {
+        Map<Long, JobSummary> byId = new HashMap<>(summaries.size() * 2);
+        for (JobSummary s : summaries) byId.put(s.id(), s);
+
+        return (JobRepository) Proxy.newProxyInstance(JobRepository.class.getClassLoader(),
+                new Class<?>[]{JobRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findSummariesByIdIn" -> {
+                        @SuppressWarnings("unchecked")
+                        Collection<Long> ids = (Collection<Long>) args[0];
+                        List<JobSummary> rows = new ArrayList<>(ids.size());
+                        for (Long id : ids) {
+                            JobSummary s = byId.get(id);
+                            if (s != null) rows.add(s);
+                        }
+                        yield rows;
+                    }
+                    case "searchSummaries" -> {
+                        String q = ((String) args[0]).toLowerCase(Locale.ROOT);
+                        yield summaries.stream().filter(s -> s.title().toLowerCase(Locale.ROOT).contains(q))
+                                .limit(((Limit) args[1]).max()).toList();
+                    }
+                    case "toString" -> "InMemoryJobRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
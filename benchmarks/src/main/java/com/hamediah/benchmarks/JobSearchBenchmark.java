@@ -0,0 +1,64 @@
+package com.hamediah.benchmarks;
+
+import com.hamediah.dto.JobSummary;
+import com.hamediah.paging.CursorPage;
+import com.hamediah.search.JobFacetIndex;
+import com.hamediah.search.JobIndexEntry;
+import com.hamediah.search.JobSearchIndex;
+import com.hamediah.service.JobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JobService#search} und die erste Seite von {@link JobService#page} über den
+ * In-Memory-Suchindex, mit Katalogen von 10k bis 1M Jobs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class JobSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int jobs;
+
+    @Param({"java", "senior engineer", "مطور", "dev"})
+    public String query;
+
+    private JobService service;
+
+    @Setup
+    public void setUp() {
+        Catalogue catalogue = Catalogue.generate(jobs);
+        JobSearchIndex index = new JobSearchIndex();
+        for (JobIndexEntry entry : catalogue.indexEntries()) index.index(entry);
+        index.onRebuilt();
+        // Nur Repository und Suchindex werden von search/page ohne Filter benutzt
+        service = new JobService(InMemoryJobRepository.of(catalogue.summaries()), null, index,
+                new JobFacetIndex(), null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<JobSummary> search() {
+        return service.search(query);
+    }
+
+    @Benchmark
+    public CursorPage<JobSummary> firstPage() {
+        return service.page(query, null, CursorPage.DEFAULT_LIMIT);
+    }
+}
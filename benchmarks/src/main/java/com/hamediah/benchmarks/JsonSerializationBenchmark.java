@@ -0,0 +1,68 @@
+package com.hamediah.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamediah.domain.Company;
+import com.hamediah.domain.Job;
+import com.hamediah.dto.JobSummary;
+import com.hamediah.paging.CursorPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson-Serialisierung der Listenantworten, mit derselben ObjectMapper-Konfiguration,
+ * die Spring Boot für die Controller verwendet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Job> jobs;
+    private List<Company> companies;
+    private CursorPage<JobSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        Catalogue catalogue = Catalogue.generate(size);
+        jobs = catalogue.jobs();
+        companies = catalogue.companies().subList(0, Math.min(size, catalogue.companies().size()));
+        summaries = new CursorPage<>(catalogue.summaries(), "next");
+    }
+
+    @Benchmark
+    public byte[] jobList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(jobs);
+    }
+
+    @Benchmark
+    public byte[] companyList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(companies);
+    }
+
+    @Benchmark
+    public byte[] jobSummaryPage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(summaries);
+    }
+}
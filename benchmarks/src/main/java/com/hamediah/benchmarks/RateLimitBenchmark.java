@@ -0,0 +1,76 @@
+package com.hamediah.benchmarks;
+
+import com.hamediah.ratelimit.ConcurrencyLimiter;
+import com.hamediah.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead der Zulassungskontrolle pro Request unter Konkurrenz (8 Threads). {@code clients=1}
+ * ist der schlechteste Fall: alle Threads konkurrieren per CAS um denselben Bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private String[] addresses;
+    private RateLimiter unlimited;
+    private RateLimiter exhausted;
+    private ConcurrencyLimiter concurrency;
+
+    @Setup
+    public void setUp() {
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) addresses[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        // Erlaubt praktisch alles: misst Lookup + erfolgreichen CAS
+        unlimited = new RateLimiter(1e9, 1_000_000, Duration.ofMinutes(10), 100_000);
+        // Sofort leer: misst den Ablehnungspfad
+        exhausted = new RateLimiter(1e-3, 1, Duration.ofMinutes(10), 100_000);
+        for (String address : addresses) exhausted.tryAcquire(address);
+        concurrency = new ConcurrencyLimiter(Integer.MAX_VALUE);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = new SplittableRandom().nextInt(1 << 16);
+    }
+
+    @Benchmark
+    public long allowed(Cursor cursor) {
+        return unlimited.tryAcquire(addresses[cursor.next++ % clients]);
+    }
+
+    @Benchmark
+    public long rejected(Cursor cursor) {
+        return exhausted.tryAcquire(addresses[cursor.next++ % clients]);
+    }
+
+    @Benchmark
+    public boolean admitted() {
+        boolean admitted = concurrency.tryEnter();
+        concurrency.exit();
+        return admitted;
+    }
+}
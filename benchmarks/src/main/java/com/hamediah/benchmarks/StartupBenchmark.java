@@ -0,0 +1,118 @@
+package com.hamediah.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Zeit vom Prozessstart bis zur ersten beantworteten Anfrage an {@code path}, einmal mit dem
+ * normalen JAR ({@code default}) und einmal im Schnellstart ({@code fast}: CDS-Archiv, AOT,
+ * Profil {@code fast-start}). Vorher im Backend {@code mvn clean install} und
+ * {@code mvn -Pfast-start clean package} bauen; der Schnellstart liegt in {@code target/fast-start/app}.
+ * Die Datenbank kommt wie beim Backend aus der Umgebung (SPRING_DATASOURCE_URL usw.);
+ * die Ausgabe des Backends landet in {@code target/startup-<mode>.log}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+
+    @Param({"default", "fast"})
+    public String mode;
+
+    /** Build-Verzeichnis des Backends, relativ zum Arbeitsverzeichnis. */
+    @Param({"../backend/target"})
+    public String target;
+
+    @Param({"/"})
+    public String path;
+
+    @Param({"18090"})
+    public int port;
+
+    private HttpClient http;
+    private ProcessBuilder command;
+    private Process backend;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        // Gleiche JVM wie der Benchmark: das CDS-Archiv passt nur zum JDK, mit dem es erzeugt wurde
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path dir = Path.of(target).toAbsolutePath().normalize();
+        List<String> args = new ArrayList<>(List.of(java));
+        if (mode.equals("fast")) {
+            dir = dir.resolve("fast-start").resolve("app");
+            args.addAll(List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"));
+        }
+        args.addAll(List.of("-jar", execJar(dir).getFileName().toString(), "--server.port=" + port));
+        if (mode.equals("fast")) args.add("--spring.profiles.active=fast-start");
+        command = new ProcessBuilder(args)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "startup-" + mode + ".log").toFile());
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        backend = command.start();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!backend.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + backend.exitValue() + ", see target/startup-" + mode + ".log");
+            }
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() < 500) return response.statusCode();
+            } catch (IOException e) {
+                // Port noch nicht offen
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Backend not answering after " + TIMEOUT);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() throws InterruptedException {
+        if (backend == null) return;
+        backend.destroy();
+        if (!backend.waitFor(30, TimeUnit.SECONDS)) backend.destroyForcibly().waitFor();
+        backend = null;
+    }
+
+    private static Path execJar(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith("-exec.jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No *-exec.jar in " + dir + ", run mvn -Pfast-start package in backend"));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.hamediah.benchmarks;
+
+import com.hamediah.dto.JobSummary;
+import jakarta.servlet.ServletContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering von {@code jobs/list.html} und {@code index.html} mit gecachten Templates und den
+ * Nachrichten aus {@code messages*.properties}. Der Spring-Security-Dialekt ist nicht registriert;
+ * {@code sec:authorize} wird daher nicht ausgewertet und beide Varianten der Navigation gerendert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+
+    @Param({"en", "ar"})
+    public String lang;
+
+    @Param({"20", "100"})
+    public int size;
+
+    private SpringTemplateEngine engine;
+    private JakartaServletWebApplication application;
+    private List<JobSummary> jobs;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+
+        ResourceBundleMessageSource messages = new ResourceBundleMessageSource();
+        messages.setBasename("messages");
+        messages.setDefaultEncoding("UTF-8");
+
+        engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setTemplateEngineMessageSource(messages);
+
+        ServletContext servletContext = new MockServletContext();
+        application = JakartaServletWebApplication.buildApplication(servletContext);
+        jobs = Catalogue.generate(size).summaries();
+    }
+
+    @Benchmark
+    public String jobList() {
+        WebContext context = context();
+        context.setVariable("jobs", jobs);
+        context.setVariable("q", "developer");
+        return render("jobs/list", context);
+    }
+
+    @Benchmark
+    public String index() {
+        WebContext context = context();
+        context.setVariable("recentJobs", jobs);
+        return render("index", context);
+    }
+
+    private WebContext context() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/jobs");
+        IWebExchange exchange = application.buildExchange(request, new MockHttpServletResponse());
+        WebContext context = new WebContext(exchange, Locale.forLanguageTag(lang));
+        context.setVariable("_csrf", new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "benchmark"));
+        return context;
+    }
+
+    private String render(String template, WebContext context) {
+        StringWriter out = new StringWriter(16 * 1024);
+        engine.process(template, context, out);
+        return out.toString();
+    }
+}
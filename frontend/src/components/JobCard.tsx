@@ -1,13 +1,14 @@
 import React, { memo } from 'react';
 import { Link } from 'react-router-dom';
-import { Job } from '../types';
+import { JobSummary } from '../types';
 import { Card, CardContent } from './ui/Card';
 import { Badge } from './ui/Badge';
 import { Button } from './ui/Button';
 import { Icon } from './ui/Icon';
 
+// Listenansicht: arbeitet mit der Zusammenfassung aus /api/jobs, nicht mit dem vollständigen Job
 interface JobCardProps {
-  job: Job;
+  job: JobSummary;
   index?: number;
   onSaveJob?: (jobId: number) => void;
   isSaved?: boolean;
@@ -51,7 +52,7 @@ const JobCard: React.FC<JobCardProps> = ({ job, index = 0, onSaveJob, isSaved =
             <div className="flex flex-wrap items-center gap-3 mb-3 text-gray-600 text-sm">
               <div className="flex items-center gap-1.5">
                 <Icon name="building" size="16" className="text-gray-400" />
-                <span className="font-medium">{job.company?.name || '—'}</span>
+                <span className="font-medium">{job.companyName || '—'}</span>
               </div>
               <div className="flex items-center gap-1.5">
                 <Icon name="location" size="16" className="text-gray-400" />
@@ -59,9 +60,11 @@ const JobCard: React.FC<JobCardProps> = ({ job, index = 0, onSaveJob, isSaved =
               </div>
             </div>
             
-            <p className="text-gray-600 mb-3 leading-relaxed line-clamp-3 text-sm">
-              {truncateText(job.description, 200)}
-            </p>
+            {job.snippet && (
+              <p className="text-gray-600 mb-3 leading-relaxed line-clamp-3 text-sm">
+                {truncateText(job.snippet, 200)}
+              </p>
+            )}
             
             {/* Job Tags */}
             <div className="flex flex-wrap gap-2">
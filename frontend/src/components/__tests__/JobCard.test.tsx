@@ -3,21 +3,16 @@ import { render, screen, fireEvent } from '@testing-library/react';
 import { BrowserRouter } from 'react-router-dom';
 import '@testing-library/jest-dom';
 import JobCard from '../JobCard';
-import { Job } from '../../types';
+import { JobSummary } from '../../types';
 
-const mockJob: Job = {
+const mockJob: JobSummary = {
   id: 1,
   title: 'Senior Software Engineer',
-  description: 'We are looking for an experienced software engineer to join our team.',
+  companyId: 1,
+  companyName: 'Tech Corp',
   location: 'Berlin, Germany',
-  createdAt: '2024-01-15T10:00:00Z',
-  company: {
-    id: 1,
-    name: 'Tech Corp',
-    description: 'A leading tech company',
-    website: 'https://techcorp.com',
-    createdAt: '2024-01-01T10:00:00Z'
-  }
+  snippet: 'We are looking for an experienced software engineer to join our team.',
+  createdAt: '2024-01-15T10:00:00Z'
 };
 
 const renderJobCard = (props = {}) => {
@@ -52,7 +47,7 @@ describe('JobCard', () => {
     expect(screen.getByText('Berlin, Germany')).toBeInTheDocument();
   });
 
-  it('renders job description (truncated)', () => {
+  it('renders the summary snippet', () => {
     renderJobCard();
     expect(screen.getByText(/We are looking for an experienced software engineer/)).toBeInTheDocument();
   });
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Link, useParams, useNavigate, useLocation } from 'react-router-dom';
 import { useTranslation } from 'react-i18next';
-import { Job } from '../types';
+import { Job, JobSummary } from '../types';
 import { jobService, applicationService } from '../services/api';
 import { useAuth } from '../contexts/AuthContext';
 import { Button } from '../components/ui/Button';
@@ -32,7 +32,7 @@ const JobDetail: React.FC = () => {
   const location = useLocation();
   const { isAuthenticated, user } = useAuth();
   const [job, setJob] = useState<Job | null>(null);
-  const [similarJobs, setSimilarJobs] = useState<Job[]>([]);
+  const [similarJobs, setSimilarJobs] = useState<JobSummary[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [showApplyModal, setShowApplyModal] = useState(false);
@@ -55,8 +55,8 @@ const JobDetail: React.FC = () => {
         }
 
         // Load similar jobs (for demo, just load some recent jobs)
-        const allJobs = await jobService.getJobs();
-        const similar = allJobs
+        const recent = await jobService.getJobsPage(undefined, undefined, 4);
+        const similar = recent.items
           .filter(j => j.id !== parseInt(id))
           .slice(0, 3);
         setSimilarJobs(similar);
@@ -448,7 +448,7 @@ const JobDetail: React.FC = () => {
                       </h3>
                       <p className="text-sm text-gray-600 flex items-center gap-1">
                         <Building className="w-4 h-4" />
-                        {similarJob.company?.name || '—'}
+                        {similarJob.companyName || '—'}
                       </p>
                       <p className="text-sm text-gray-600 flex items-center gap-1 mt-1">
                         <MapPin className="w-4 h-4" />
@@ -456,9 +456,11 @@ const JobDetail: React.FC = () => {
                       </p>
                     </div>
 
-                    <p className="text-sm text-gray-600 mb-4 line-clamp-3">
-                      {similarJob.description}
-                    </p>
+                    {similarJob.snippet && (
+                      <p className="text-sm text-gray-600 mb-4 line-clamp-3">
+                        {similarJob.snippet}
+                      </p>
+                    )}
 
                     <div className="flex flex-wrap gap-2 mb-4">
                       <Badge variant="default" className="text-xs">Full-time</Badge>
@@ -1,7 +1,7 @@
 import React, { useState, useEffect, useMemo, useCallback } from 'react';
 import { useSearchParams } from 'react-router-dom';
 import { useTranslation } from 'react-i18next';
-import { Job } from '../types';
+import { JobSummary } from '../types';
 import { jobService } from '../services/api';
 import { Button } from '../components/ui/Button';
 import { Card } from '../components/ui/Card';
@@ -17,12 +17,14 @@ type SortOption = 'relevance' | 'date' | 'salary';
 const JobList: React.FC = () => {
   const { t } = useTranslation();
   const [searchParams, setSearchParams] = useSearchParams();
-  const [jobs, setJobs] = useState<Job[]>([]);
+  const [jobs, setJobs] = useState<JobSummary[]>([]);
+  // Cursor der nächsten Serverseite, null = alles geladen
+  const [next, setNext] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [query, setQuery] = useState(searchParams.get('q') || '');
   const [sortBy, setSortBy] = useState<SortOption>('relevance');
-  const [currentPage, setCurrentPage] = useState(1);
   const jobsPerPage = 10;
   const [savedJobs, setSavedJobs] = useState<Set<number>>(new Set());
   
@@ -37,8 +39,9 @@ const JobList: React.FC = () => {
   const loadJobs = async (searchQuery?: string) => {
     try {
       setLoading(true);
-      const data = await jobService.getJobs(searchQuery);
-      setJobs(data);
+      const page = await jobService.getJobsPage(searchQuery, undefined, jobsPerPage);
+      setJobs(page.items);
+      setNext(page.next);
       setError(null);
     } catch (err) {
       setError('Failed to load jobs');
@@ -55,12 +58,10 @@ const JobList: React.FC = () => {
   const handleSearch = (e: React.FormEvent) => {
     e.preventDefault();
     setSearchParams({ q: query });
-    setCurrentPage(1);
   };
 
   const handleFilterChange = (newFilters: FilterOptions) => {
     setFilters(newFilters);
-    setCurrentPage(1);
   };
 
   const handleClearFilters = () => {
@@ -71,7 +72,6 @@ const JobList: React.FC = () => {
       salaryRange: { min: 0, max: 200000 },
       remote: false
     });
-    setCurrentPage(1);
   };
 
   // Filter and sort jobs
@@ -112,15 +112,20 @@ const JobList: React.FC = () => {
     return result;
   }, [jobs, filters, sortBy]);
 
-  // Pagination
-  const totalPages = Math.ceil(filteredAndSortedJobs.length / jobsPerPage);
-  const paginatedJobs = filteredAndSortedJobs.slice(
-    (currentPage - 1) * jobsPerPage,
-    currentPage * jobsPerPage
-  );
-
-  const handleLoadMore = () => {
-    setCurrentPage(prev => Math.min(prev + 1, totalPages));
+  // Nächste Serverseite anhängen; Filter und Sortierung wirken auf alle geladenen Jobs
+  const handleLoadMore = async () => {
+    if (!next) return;
+    try {
+      setLoadingMore(true);
+      const page = await jobService.getJobsPage(query || undefined, next, jobsPerPage);
+      setJobs(prev => [...prev, ...page.items]);
+      setNext(page.next);
+    } catch (err) {
+      toast.error('Failed to load more jobs');
+      console.error('Error loading more jobs:', err);
+    } finally {
+      setLoadingMore(false);
+    }
   };
 
   const handleSaveJob = useCallback((jobId: number) => {
@@ -264,7 +269,7 @@ const JobList: React.FC = () => {
 
               {/* Job Cards Grid */}
               <div className="space-y-6">
-                {paginatedJobs.length === 0 ? (
+                {filteredAndSortedJobs.length === 0 ? (
                   <Card className="text-center py-16" padding="lg">
                     <div className="w-24 h-24 bg-gray-100 rounded-full flex items-center justify-center mx-auto mb-6">
                       <Icon name="briefcase" size="20" className="text-gray-400" />
@@ -285,11 +290,11 @@ const JobList: React.FC = () => {
                     )}
                   </Card>
                 ) : (
-                  paginatedJobs.map((job, index) => (
+                  filteredAndSortedJobs.map((job, index) => (
                     <JobCard
                       key={job.id}
                       job={job}
-                      index={index}
+                      index={index % jobsPerPage}
                       onSaveJob={handleSaveJob}
                       isSaved={savedJobs.has(job.id)}
                     />
@@ -297,71 +302,22 @@ const JobList: React.FC = () => {
                 )}
               </div>
 
-              {/* Pagination */}
-              {filteredAndSortedJobs.length > jobsPerPage && (
+              {/* Pagination: weitere Serverseiten per Cursor */}
+              {next && (
                 <div className="mt-12">
                   <div className="flex flex-col items-center gap-4">
                     <div className="text-sm text-gray-600">
-                      Showing {((currentPage - 1) * jobsPerPage) + 1} to {Math.min(currentPage * jobsPerPage, filteredAndSortedJobs.length)} of {filteredAndSortedJobs.length} jobs
+                      Showing {jobs.length} jobs
                     </div>
-                    
-                    <div className="flex gap-2">
-                      <Button
-                        variant="secondary"
-                        onClick={() => setCurrentPage(prev => Math.max(1, prev - 1))}
-                        disabled={currentPage === 1}
-                      >
-                        <Icon name="chevron-left" size="16" />
-                        Previous
-                      </Button>
-                      
-                      <div className="flex gap-1">
-                        {Array.from({ length: Math.min(5, totalPages) }, (_, i) => {
-                          let pageNum: number;
-                          if (totalPages <= 5) {
-                            pageNum = i + 1;
-                          } else if (currentPage <= 3) {
-                            pageNum = i + 1;
-                          } else if (currentPage >= totalPages - 2) {
-                            pageNum = totalPages - 4 + i;
-                          } else {
-                            pageNum = currentPage - 2 + i;
-                          }
-                          
-                          return (
-                            <Button
-                              key={pageNum}
-                              variant={currentPage === pageNum ? 'default' : 'secondary'}
-                              onClick={() => setCurrentPage(pageNum)}
-                              className="w-10"
-                            >
-                              {pageNum}
-                            </Button>
-                          );
-                        })}
-                      </div>
-                      
-                      <Button
-                        variant="secondary"
-                        onClick={() => setCurrentPage(prev => Math.min(totalPages, prev + 1))}
-                        disabled={currentPage === totalPages}
-                      >
-                        Next
-                        <Icon name="chevron-right" size="16" />
-                      </Button>
-                    </div>
-
-                    {/* Alternative: Load More Button */}
-                    {currentPage < totalPages && (
-                      <Button 
-                        variant="secondary"
-                        onClick={handleLoadMore}
-                        className="gap-2"
-                      >
-                        <Icon name="refresh" size="16" />
-                        {t('jobs.loadMore')}
-                      </Button>
-                    )}
+                    <Button
+                      variant="secondary"
+                      onClick={handleLoadMore}
+                      disabled={loadingMore}
+                      className="gap-2"
+                    >
+                      <Icon name="refresh" size="16" />
+                      {t('jobs.loadMore')}
+                    </Button>
                   </div>
                 </div>
               )}
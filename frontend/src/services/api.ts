@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { Job, Company } from '../types';
+import { Job, JobSummary, Company, CompanyJobs, CursorPage, NearbyJobs, NearbyQuery, Suggestion } from '../types';
 
 const API_BASE = 'http://localhost:8081/api';
 
@@ -12,9 +12,25 @@ const api = axios.create({
 });
 
 export const jobService = {
-  async getJobs(query?: string): Promise<Job[]> {
+  // Listen liefern JobSummary (Anriss statt Beschreibung, ohne Tags); Details über getJob().
+  // Eine Seite pro Aufruf, die nächste mit dem zurückgegebenen next-Cursor
+  async getJobsPage(query?: string, cursor?: string, limit?: number): Promise<CursorPage<JobSummary>> {
     const response = await api.get('/jobs', {
-      params: query ? { q: query } : {}
+      params: { q: query || undefined, cursor, limit }
+    });
+    return response.data;
+  },
+
+  async getJobsNear(query: NearbyQuery): Promise<NearbyJobs> {
+    const response = await api.get('/jobs', {
+      params: { ...query, q: query.q || undefined }
+    });
+    return response.data;
+  },
+
+  async suggest(prefix: string, limit = 8): Promise<Suggestion[]> {
+    const response = await api.get('/jobs/suggest', {
+      params: { prefix, limit }
     });
     return response.data;
   },
@@ -24,6 +40,15 @@ export const jobService = {
     return response.data;
   },
 
+  // Gemerkte/hervorgehobene Listen: ein Request für bis zu 100 IDs statt getJob() pro Eintrag
+  async getJobsByIds(ids: number[]): Promise<Job[]> {
+    if (ids.length === 0) return [];
+    const response = await api.get('/jobs/batch', {
+      params: { ids: ids.join(',') }
+    });
+    return response.data;
+  },
+
   async createJob(jobData: {
     title: string;
     description: string;
@@ -73,15 +98,31 @@ export const applicationService = {
     }
   },
 
-  async getApplicationsForJob(jobId: number): Promise<any[]> {
-    const response = await api.get(`/applications/job/${jobId}`);
+  async getApplicationsForJob(jobId: number, cursor?: string, limit?: number): Promise<CursorPage<any>> {
+    const response = await api.get(`/applications/job/${jobId}`, {
+      params: { cursor, limit }
+    });
     return response.data;
   },
 };
 
 export const companyService = {
+  // Alle Firmen (z. B. für Auswahllisten): folgt den Cursorn bis zur letzten Seite
   async getCompanies(): Promise<Company[]> {
-    const response = await api.get('/companies');
+    const companies: Company[] = [];
+    let cursor: string | undefined;
+    do {
+      const page = await this.getCompaniesPage(cursor, 100);
+      companies.push(...page.items);
+      cursor = page.next ?? undefined;
+    } while (cursor);
+    return companies;
+  },
+
+  async getCompaniesPage(cursor?: string, limit?: number): Promise<CursorPage<Company>> {
+    const response = await api.get('/companies', {
+      params: { cursor, limit }
+    });
     return response.data;
   },
 
@@ -89,6 +130,13 @@ export const companyService = {
     const response = await api.get(`/companies/${id}`);
     return response.data;
   },
+
+  async getCompanyWithJobs(id: number, cursor?: string, limit?: number): Promise<CompanyJobs> {
+    const response = await api.get(`/companies/${id}/jobs`, {
+      params: { cursor, limit }
+    });
+    return response.data;
+  },
 };
 
 export default api;
\ No newline at end of file
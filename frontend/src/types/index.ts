@@ -10,12 +10,26 @@ export interface Job {
   title: string;
   description: string;
   location?: string;
+  // Aus location per Gazetteer, fehlt bei unbekanntem Ort
+  latitude?: number;
+  longitude?: number;
   tags?: string;
   company?: Company;
   createdAt: string;
   updatedAt?: string;
 }
 
+// Kompakte Listenansicht aus /api/jobs (ohne vollständige Beschreibung und Tags)
+export interface JobSummary {
+  id: number;
+  title: string;
+  companyId?: number;
+  companyName?: string;
+  location?: string;
+  snippet?: string;
+  createdAt: string;
+}
+
 export interface Application {
   id: number;
   jobId: number;
@@ -24,4 +38,36 @@ export interface Application {
   coverLetter?: string;
   resumeUrl?: string;
   createdAt: string;
-}
\ No newline at end of file
+}
+export interface CursorPage<T> {
+  items: T[];
+  next: string | null;
+}
+
+// GET /api/jobs mit Umkreissuche: Entfernung in km je Job-ID
+export interface NearbyJobs extends CursorPage<JobSummary> {
+  distances: Record<number, number>;
+}
+
+// Mittelpunkt als Koordinaten oder bekannter Ortsname; radius in km (Standard 50)
+export interface NearbyQuery {
+  lat?: number;
+  lon?: number;
+  near?: string;
+  radius?: number;
+  q?: string;
+  sort?: 'distance';
+  cursor?: string;
+  limit?: number;
+}
+
+// GET /api/companies/{id}/jobs: Firma plus eine Seite ihrer aktiven Jobs
+export interface CompanyJobs extends CursorPage<JobSummary> {
+  company: Company;
+}
+
+export interface Suggestion {
+  text: string;
+  type: 'title' | 'company' | 'location';
+  count: number;
+}